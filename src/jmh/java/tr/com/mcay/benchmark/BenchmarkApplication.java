@@ -0,0 +1,58 @@
+package tr.com.mcay.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tr.com.mcay.LazyLoadingTransactionApplication;
+import tr.com.mcay.config.DataGeneratorProperties;
+import tr.com.mcay.config.GeneratedData;
+import tr.com.mcay.config.SyntheticDataGenerator;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark state'lerinin ortak kullandığı, web katmanı olmayan uygulama context'i.
+ */
+final class BenchmarkApplication {
+    
+    private BenchmarkApplication() {
+    }
+    
+    // Ayarlar komut satırı argümanı olarak verilir; builder'ın properties(...) metodu varsayılan özellik olarak
+    // eklediği için application.properties'teki değerleri ezemez
+    static ConfigurableApplicationContext start(String... properties) {
+        String[] args = Stream.concat(Stream.of(
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.devtools.restart.enabled=false",
+                        // Plan dışında kalan bir ilişki serialization sırasında sessizce atlanmaz, ölçüm hata verir
+                        "fetch-plan.fail-on-lazy-access=true",
+                        // Veri setini her benchmark kendi boyutlarıyla SyntheticDataGenerator üzerinden üretir
+                        "data-generator.enabled=false",
+                        "logging.level.root=WARN"), Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(LazyLoadingTransactionApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+    
+    // Boyutlar dışındaki ayarlar (seed, batch boyutu) DataGeneratorProperties varsayılanlarıdır
+    static GeneratedData generate(ConfigurableApplicationContext context, int departments, int employeesPerDepartment,
+                                  double employeeSkew, int tasksPerEmployee) {
+        DataGeneratorProperties dataset = new DataGeneratorProperties();
+        dataset.setDepartments(departments);
+        dataset.setEmployeesPerDepartment(employeesPerDepartment);
+        dataset.setEmployeeSkew(employeeSkew);
+        dataset.setTasksPerEmployee(tasksPerEmployee);
+        return context.getBean(SyntheticDataGenerator.class).generate(dataset);
+    }
+    
+    static void registerStatistics(ConfigurableApplicationContext context) {
+        SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        SqlStatementProfiler.register(sessionFactory.getStatistics());
+    }
+}
@@ -0,0 +1,35 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark'ları GC (allocation/op) ve SQL statement/op profiler'larıyla çalıştırır. Benchmark
+ * verilmezse fetch stratejisi benchmark'ları çalışır; mod, iterasyon ve fork ayarları her
+ * benchmark sınıfının kendi annotation'larından gelir.
+ * Komut satırı argümanları JMH'nin kendi argümanlarıdır, örneğin:
+ * {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.args="DepartmentFetch -p departments=10 -rf json"}
+ */
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .addProfiler(SqlStatementProfiler.class);
+        
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(DepartmentFetchBenchmark.class.getSimpleName())
+                    .include(EmployeeFetchBenchmark.class.getSimpleName())
+                    .include(TaskFetchBenchmark.class.getSimpleName());
+        }
+        
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
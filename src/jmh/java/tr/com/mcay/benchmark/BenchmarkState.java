@@ -0,0 +1,104 @@
+package tr.com.mcay.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import tr.com.mcay.config.GeneratedData;
+import tr.com.mcay.service.DepartmentService;
+import tr.com.mcay.service.EmployeeService;
+import tr.com.mcay.service.TaskService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uygulama context'ini web katmanı olmadan ayağa kaldırır ve H2 şemasını
+ * {@code departments × employeesPerDepartment × tasksPerEmployee} hacminde doldurur.
+ * Hacimler JMH parametreleri olduğu için komut satırından değiştirilebilir:
+ * {@code -p departments=10 -p employeesPerDepartment=2000 -p employeeSkew=1}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+    
+    @Param("100")
+    public int departments;
+    
+    @Param("500")
+    public int employeesPerDepartment;
+    
+    @Param("20")
+    public int tasksPerEmployee;
+    
+    // 0: her departmanda employeesPerDepartment çalışan; büyüdükçe ilk departmanlar kalabalıklaşır
+    @Param("0")
+    public double employeeSkew;
+    
+    private ConfigurableApplicationContext context;
+    
+    private DepartmentService departmentService;
+    private EmployeeService employeeService;
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+    
+    private GeneratedData data;
+    
+    private final AtomicInteger cursor = new AtomicInteger();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        
+        departmentService = context.getBean(DepartmentService.class);
+        employeeService = context.getBean(EmployeeService.class);
+        taskService = context.getBean(TaskService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        
+        data = BenchmarkApplication.generate(context, departments, employeesPerDepartment, employeeSkew, tasksPerEmployee);
+        
+        BenchmarkApplication.registerStatistics(context);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SqlStatementProfiler.register(null);
+        context.close();
+    }
+    
+    public DepartmentService departmentService() {
+        return departmentService;
+    }
+    
+    public EmployeeService employeeService() {
+        return employeeService;
+    }
+    
+    public TaskService taskService() {
+        return taskService;
+    }
+    
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    // Endpoint'lerin yaptığı gibi sonucu JSON'a yazar, böylece serialization sırasındaki lazy yüklemeler de ölçülür
+    public byte[] serialize(Object value) throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+    
+    // Üretilen id'ler ardışık olduğu için sıradaki id aralığın başlangıcından hesaplanır
+    public long nextDepartmentId() {
+        return data.firstDepartmentId() + Math.floorMod(cursor.getAndIncrement(), data.departments());
+    }
+    
+    public long nextEmployeeId() {
+        return data.firstEmployeeId() + Math.floorMod(cursor.getAndIncrement(), data.employees());
+    }
+    
+    public long nextTaskId() {
+        return data.firstTaskId() + Math.floorMod(cursor.getAndIncrement(), data.tasks());
+    }
+}
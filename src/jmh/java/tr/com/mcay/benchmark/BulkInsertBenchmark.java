@@ -0,0 +1,76 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import tr.com.mcay.entity.Task;
+import tr.com.mcay.service.TaskService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TaskService.saveTasks} ile tek transaction içinde çok sayıda görev oluşturma.
+ * {@code jdbcBatchSize=0} batch'siz, diğer değerler {@code hibernate.jdbc.batch_size} ile çalışır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BulkInsertBenchmark {
+    
+    @Param("100000")
+    public int tasks;
+    
+    @Param({"0", "50"})
+    public int jdbcBatchSize;
+    
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<Task> batch;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "spring.jpa.properties.hibernate.order_updates=true");
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplication.registerStatistics(context);
+    }
+    
+    @Setup(Level.Invocation)
+    public void prepareTasks() {
+        LocalDate dueDate = LocalDate.now();
+        batch = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            batch.add(new Task("Task-" + i, "Description of task " + i, dueDate));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SqlStatementProfiler.register(null);
+        context.close();
+    }
+    
+    @Benchmark
+    public int saveTasks() {
+        return taskService.saveTasks(batch).size();
+    }
+}
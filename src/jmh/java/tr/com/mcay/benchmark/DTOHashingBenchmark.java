@@ -0,0 +1,82 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.TaskDTO;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Veritabanı olmadan, büyük bir departman DTO ağacının kurulması ve hash'lenmesi.
+ * Ağaç tek sorguluk birleştirmedeki sırayla kurulur: çalışan set'e eklenir, görevleri sonra doldurulur.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DTOHashingBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Tree {
+        
+        @Param("2000")
+        public int employees;
+        
+        @Param("50")
+        public int tasksPerEmployee;
+        
+        DepartmentDTO department;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            department = build(employees, tasksPerEmployee);
+        }
+    }
+    
+    @Benchmark
+    public DepartmentDTO buildTree(Tree tree) {
+        return build(tree.employees, tree.tasksPerEmployee);
+    }
+    
+    @Benchmark
+    public boolean addToSet(Tree tree) {
+        Set<DepartmentDTO> departments = new HashSet<>();
+        return departments.add(tree.department);
+    }
+    
+    @Benchmark
+    public boolean containsEmployee(Tree tree) {
+        return tree.department.getEmployees().contains(new EmployeeDTO(1L, "Employee 1", "Developer"));
+    }
+    
+    private static DepartmentDTO build(int employees, int tasksPerEmployee) {
+        DepartmentDTO department = new DepartmentDTO(1L, "Department 1");
+        LocalDate dueDate = LocalDate.of(2024, 1, 1);
+        long taskId = 1;
+        for (long employeeId = 1; employeeId <= employees; employeeId++) {
+            EmployeeDTO employee = new EmployeeDTO(employeeId, "Employee " + employeeId, "Developer");
+            department.getEmployees().add(employee);
+            for (int i = 0; i < tasksPerEmployee; i++, taskId++) {
+                employee.getTasks().add(new TaskDTO(taskId, "Task " + taskId, "Description " + taskId,
+                        dueDate.plusDays(i), i % 2 == 0));
+            }
+        }
+        return department;
+    }
+}
@@ -0,0 +1,78 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.mcay.repository.DepartmentRepository;
+import tr.com.mcay.service.DepartmentService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Büyük bir departmanı silme: {@code CascadeType.ALL} üzerinden {@code deleteById} (tüm alt ağaç yüklenir,
+ * satır satır DELETE) ile servisin alttan yukarı toplu DELETE'leri. Her ölçümden önce yeni bir departman üretilir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DepartmentDeleteBenchmark {
+    
+    @Param("1000")
+    public int employees;
+    
+    @Param("10")
+    public int tasksPerEmployee;
+    
+    private ConfigurableApplicationContext context;
+    private DepartmentService departmentService;
+    private DepartmentRepository departmentRepository;
+    private TransactionTemplate transactionTemplate;
+    private long departmentId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        departmentService = context.getBean(DepartmentService.class);
+        departmentRepository = context.getBean(DepartmentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BenchmarkApplication.registerStatistics(context);
+    }
+    
+    @Setup(Level.Invocation)
+    public void createDepartment() {
+        departmentId = BenchmarkApplication.generate(context, 1, employees, 0, tasksPerEmployee).firstDepartmentId();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SqlStatementProfiler.register(null);
+        context.close();
+    }
+    
+    @Benchmark
+    public long cascadeDeleteById() {
+        transactionTemplate.executeWithoutResult(status -> departmentRepository.deleteById(departmentId));
+        return departmentId;
+    }
+    
+    @Benchmark
+    public int bulkDelete() {
+        return departmentService.deleteDepartment(departmentId).orElseThrow().getTasks();
+    }
+}
@@ -0,0 +1,70 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tr.com.mcay.service.DepartmentDTOCache;
+import tr.com.mcay.service.ParallelDepartmentDTOAssembler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DepartmentService içindeki departman + çalışan + görev getirme stratejileri.
+ * Her operasyon servis çağrısını ve endpoint'in yapacağı JSON serialization'ı kapsar.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DepartmentFetchBenchmark {
+    
+    @Benchmark
+    public void withEmployeesAndTasksFetch(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.departmentService().getDepartmentWithEmployeesAndTasksFetch(state.nextDepartmentId())));
+    }
+    
+    @Benchmark
+    public void withEmployeesAndTasksDTO(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.departmentService().getDepartmentWithEmployeesAndTasksDTO(state.nextDepartmentId())));
+    }
+    
+    @Benchmark
+    public void withEmployeesAndTasksBatchedDTO(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.departmentService().getDepartmentWithEmployeesAndTasksBatchedDTO(state.nextDepartmentId())));
+    }
+    
+    // Görev parçaları dto-fetch.parallel.* ayarlarıyla ayrı bağlantılarda paralel sorgulanır
+    @Benchmark
+    public void withEmployeesAndTasksParallelDTO(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.bean(ParallelDepartmentDTOAssembler.class).assemble(state.nextDepartmentId()).get()));
+    }
+    
+    @Benchmark
+    public void withEmployeesAndTasksInOneQuery(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.departmentService().getDepartmentWithEmployeesAndTasksInOneQuery(state.nextDepartmentId())));
+    }
+    
+    @Benchmark
+    public void withEmployeesAndTasksInOneQueryDTO(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.departmentService().getDepartmentWithEmployeesAndTasksInOneQueryDTO(state.nextDepartmentId())));
+    }
+    
+    // Departman DTO cache'i üzerinden; ilk turdan sonra bütün departmanlar cache'te olur
+    @Benchmark
+    public void withEmployeesAndTasksInOneQueryDTOCached(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.bean(DepartmentDTOCache.class).get(state.nextDepartmentId())));
+    }
+}
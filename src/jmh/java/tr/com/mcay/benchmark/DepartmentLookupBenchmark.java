@@ -0,0 +1,45 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import tr.com.mcay.repository.DepartmentRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sık tekrarlanan departman aramaları: id ile, isim ile ve bir çalışanın departmanı üzerinden.
+ * {@code sql.statements} bu aramaların ne kadarının veritabanına gittiğini gösterir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DepartmentLookupBenchmark {
+    
+    @Benchmark
+    public String findById(BenchmarkState state) {
+        return state.bean(DepartmentRepository.class).findById(state.nextDepartmentId())
+                .orElseThrow()
+                .getName();
+    }
+    
+    @Benchmark
+    public String findByName(BenchmarkState state) {
+        return state.bean(DepartmentRepository.class).findByName("Department-" + state.nextDepartmentId())
+                .orElseThrow()
+                .getName();
+    }
+    
+    @Benchmark
+    public String departmentOfEmployee(BenchmarkState state) {
+        return state.employeeService().getEmployeeWithTasksAndDepartment(state.nextEmployeeId())
+                .getDepartment()
+                .getName();
+    }
+}
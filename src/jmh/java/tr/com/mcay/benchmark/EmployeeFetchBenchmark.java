@@ -0,0 +1,71 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmployeeService içindeki çalışan + görev (+ departman) getirme stratejileri.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EmployeeFetchBenchmark {
+    
+    @Benchmark
+    public void withTasksTransactional(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksTransactional(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksFetch(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksFetch(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksBatchSize(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksBatchSize(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksAndDepartment(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksAndDepartment(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksAndDepartmentFetch(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksAndDepartmentFetch(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksDTO(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksDTO(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksInOneQuery(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksInOneQuery(state.nextEmployeeId())));
+    }
+    
+    @Benchmark
+    public void withTasksInOneQueryDTO(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.employeeService().getEmployeeWithTasksInOneQueryDTO(state.nextEmployeeId())));
+    }
+}
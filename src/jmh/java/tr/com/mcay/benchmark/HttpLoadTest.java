@@ -0,0 +1,147 @@
+package tr.com.mcay.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tr.com.mcay.LazyLoadingTransactionApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * İki platform thread yapılandırmasını ({@code prod} ve {@code prod,high-concurrency}) çok sayıda eşzamanlı
+ * istemciyle karşılaştıran HTTP yük testi; sanal thread ölçümü içermez. Her mod için uygulama
+ * (web katmanıyla, rastgele portta) ayrı başlatılır; istemci sabit sayıda isteği sürekli havada tutar ve
+ * ölçüm süresince throughput, durum kodları ve gecikme yüzdeliklerini raporlar.
+ * <p>
+ * JMH benchmark'ı değildir, {@code benchmark.main} ile çalıştırılır:
+ * {@code mvn -Pbenchmark compile exec:exec -Dbenchmark.main=tr.com.mcay.benchmark.HttpLoadTest -Dbenchmark.args="clients=5000 duration=60"}
+ */
+public class HttpLoadTest {
+    
+    public static void main(String[] args) throws Exception {
+        // main thread'den başlatılan uygulamayı devtools yeniden başlatır ve main'i uygulamanın argümanlarıyla tekrar çağırır
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = new HashMap<>(Map.of(
+                "modes", "prod;prod,high-concurrency",
+                "clients", "5000",
+                "warmup", "15",
+                "duration", "30",
+                "path", "/api/employees/{id}/with-tasks-one-query-dto",
+                "file", "./target/load-test/lazyload",
+                "departments", "100",
+                "employeesPerDepartment", "100",
+                "tasksPerEmployee", "20"));
+        Arrays.stream(args).map(arg -> arg.split("=", 2)).forEach(pair -> options.put(pair[0], pair[1]));
+        
+        int clients = Integer.parseInt(options.get("clients"));
+        for (String profiles : options.get("modes").split(";")) {
+            try (ConfigurableApplicationContext context = start(profiles, options)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee", Long.class);
+                long lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employee", Long.class);
+                String url = "http://localhost:" + port + options.get("path");
+                
+                run(url, firstId, lastId, clients, Duration.ofSeconds(Long.parseLong(options.get("warmup"))));
+                Result result = run(url, firstId, lastId, clients, Duration.ofSeconds(Long.parseLong(options.get("duration"))));
+                System.out.printf("%n[%s] %d clients%n%s%n", profiles, clients, result);
+            }
+        }
+        System.exit(0);
+    }
+    
+    private static ConfigurableApplicationContext start(String profiles, Map<String, String> options) {
+        return new SpringApplicationBuilder(LazyLoadingTransactionApplication.class).run(
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                "--lazyload.h2.file=" + options.get("file"),
+                "--data-generator.departments=" + options.get("departments"),
+                "--data-generator.employees-per-department=" + options.get("employeesPerDepartment"),
+                "--data-generator.tasks-per-employee=" + options.get("tasksPerEmployee"),
+                "--logging.level.root=WARN");
+    }
+    
+    // Her yanıt geldiğinde yerine yenisi gönderilir; havadaki istek sayısı ölçüm boyunca clients'ta kalır
+    private static Result run(String url, long firstId, long lastId, int clients, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        Semaphore inFlight = new Semaphore(clients);
+        Result result = new Result(duration);
+        long deadline = System.nanoTime() + duration.toNanos();
+        
+        while (System.nanoTime() < deadline) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            long id = ThreadLocalRandom.current().nextLong(firstId, lastId + 1);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url.replace("{id}", String.valueOf(id))))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        result.record(System.nanoTime() - start, error == null ? response.statusCode() : -1);
+                        inFlight.release();
+                    });
+        }
+        // Süre dolduktan sonra tamamlanan istekler de kaydedilir; throughput ölçüm süresine göre hesaplanır
+        inFlight.tryAcquire(clients, 60, TimeUnit.SECONDS);
+        return result;
+    }
+    
+    private static final class Result {
+        
+        private final Duration duration;
+        // Durum koduna göre yanıt sayıları; -1 bağlantı hatası veya zaman aşımı
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        
+        Result(Duration duration) {
+            this.duration = duration;
+        }
+        
+        synchronized void record(long nanos, int status) {
+            statuses.merge(status, 1L, Long::sum);
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+        
+        @Override
+        public synchronized String toString() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("  throughput: %.0f req/s (status counts %s)%n"
+                            + "  latency ms: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f",
+                    statuses.getOrDefault(200, 0L) / (double) duration.toSeconds(), statuses,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), percentile(sorted, 1.0));
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import tr.com.mcay.entity.Employee;
+import tr.com.mcay.entity.Task;
+import tr.com.mcay.service.EmployeeService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tek bir çalışana bağlı çok sayıda görevin Set'e yüklenmesi ve eklenmesi.
+ * Entity hashCode'u sabit olduğunda tüm elemanlar aynı bucket'a düştüğü için
+ * bu operasyonlar eleman sayısıyla karesel büyür.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LargeCollectionBenchmark {
+    
+    @Param("10000")
+    public int tasks;
+    
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long employeeId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        
+        employeeId = BenchmarkApplication.generate(context, 1, 1, 0, tasks).firstEmployeeId();
+        
+        BenchmarkApplication.registerStatistics(context);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SqlStatementProfiler.register(null);
+        context.close();
+    }
+    
+    @Benchmark
+    public int loadEmployeeWithTasks() {
+        return employeeService.getEmployeeWithTasksFetch(employeeId).getTasks().size();
+    }
+    
+    @Benchmark
+    public int addTransientTasks() {
+        Employee employee = new Employee("Employee", "Position");
+        LocalDate dueDate = LocalDate.now();
+        for (int i = 0; i < tasks; i++) {
+            employee.addTask(new Task("Task-" + i, "Description", dueDate));
+        }
+        return employee.getTasks().size();
+    }
+}
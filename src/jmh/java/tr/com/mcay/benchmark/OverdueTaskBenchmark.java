@@ -0,0 +1,51 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tr.com.mcay.dto.OverdueTaskDTO;
+import tr.com.mcay.repository.KeysetPage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SLA uyarılarının her dakika çağırdığı gecikmiş görev sorguları. Seeder'daki görevlerin yaklaşık
+ * üçte ikisi gecikmiştir; sayfa maliyeti bu sayıdan, sayım maliyeti ise görev tablosunun boyutundan bağımsız olmalıdır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class OverdueTaskBenchmark {
+    
+    // Sayfalar sırayla gezilir, son sayfadan sonra baştan başlanır
+    @State(Scope.Thread)
+    public static class Pages {
+        
+        String cursor;
+    }
+    
+    @Benchmark
+    public byte[] firstPage(BenchmarkState state) throws Exception {
+        return state.serialize(state.taskService().getOverdueTasksPage(null, 100).getContent());
+    }
+    
+    @Benchmark
+    public byte[] nextPage(BenchmarkState state, Pages pages) throws Exception {
+        KeysetPage<OverdueTaskDTO> page = state.taskService().getOverdueTasksPage(pages.cursor, 100);
+        pages.cursor = page.getNextCursor();
+        return state.serialize(page.getContent());
+    }
+    
+    @Benchmark
+    public byte[] countByDepartment(BenchmarkState state) throws Exception {
+        return state.serialize(state.taskService().getOverdueTaskCountsByDepartment());
+    }
+}
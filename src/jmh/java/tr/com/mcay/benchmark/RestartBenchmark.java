@@ -0,0 +1,164 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.service.EmployeeService;
+import tr.com.mcay.service.TaskService;
+
+import java.io.File;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * prod profilindeki dosya tabanlı H2 ile yeniden başlatma maliyeti: var olan veritabanı dosyası üzerinde
+ * context açılış süresi, açılıştan sonraki ilk sorgu (boş MVStore cache'i) ve ısınmış bağlantılarla sorgu gecikmesi.
+ * <p>
+ * Veritabanı ilk çalıştırmada {@code departments × employeesPerDepartment × tasksPerEmployee} hacminde bir kez
+ * doldurulur ve sonraki çalıştırmalarda yeniden kullanılır. Varsayılan hacim (10 milyon görev) birkaç GB'lık
+ * bir dosya oluşturur; silmek için {@code mvn clean} yeterlidir.
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RestartBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Database {
+        
+        @Param("./target/restart-benchmark/lazyload")
+        public String file;
+        
+        @Param("200")
+        public int departments;
+        
+        @Param("1000")
+        public int employeesPerDepartment;
+        
+        @Param("50")
+        public int tasksPerEmployee;
+        
+        long firstEmployeeId;
+        long lastEmployeeId;
+        
+        // Eksik departmanlar eklenir; dosya aynı parametrelerle daha önce doldurulduysa hiçbir şey yapılmaz
+        @Setup(Level.Trial)
+        public void seedOnce() {
+            try (ConfigurableApplicationContext context = open()) {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                Integer seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM department WHERE name LIKE 'Department-%'", Integer.class);
+                if (seeded < departments) {
+                    BenchmarkApplication.generate(context, departments - seeded, employeesPerDepartment, 0, tasksPerEmployee);
+                }
+                firstEmployeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee", Long.class);
+                lastEmployeeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employee", Long.class);
+            }
+            System.out.printf("%n%s.mv.db: %,d MB%n", file, new File(file + ".mv.db").length() / (1024 * 1024));
+        }
+        
+        ConfigurableApplicationContext open() {
+            return BenchmarkApplication.start("spring.profiles.active=prod", "lazyload.h2.file=" + file);
+        }
+        
+        long randomEmployeeId() {
+            return ThreadLocalRandom.current().nextLong(firstEmployeeId, lastEmployeeId + 1);
+        }
+    }
+    
+    // Açılışı ölçülen context; kapanış (MVStore'un dosyayı kapatması) ölçüme dahil edilmez
+    @State(Scope.Thread)
+    public static class Started {
+        
+        ConfigurableApplicationContext context;
+        
+        @TearDown(Level.Invocation)
+        public void close() {
+            context.close();
+        }
+    }
+    
+    // İlk sorgusu ölçülen context; ölçülen metot dışında açılıp kapanır
+    @State(Scope.Thread)
+    public static class Restarted {
+        
+        ConfigurableApplicationContext context;
+        
+        @Setup(Level.Invocation)
+        public void open(Database database) {
+            context = database.open();
+        }
+        
+        @TearDown(Level.Invocation)
+        public void close() {
+            context.close();
+        }
+    }
+    
+    // Ölçümler boyunca açık kalan context
+    @State(Scope.Benchmark)
+    public static class Running {
+        
+        ConfigurableApplicationContext context;
+        EmployeeService employeeService;
+        TaskService taskService;
+        
+        @Setup(Level.Trial)
+        public void open(Database database) {
+            context = database.open();
+            employeeService = context.getBean(EmployeeService.class);
+            taskService = context.getBean(TaskService.class);
+        }
+        
+        @TearDown(Level.Trial)
+        public void close() {
+            context.close();
+        }
+    }
+    
+    // Flyway ve Hibernate şema doğrulaması, havuzun doldurulması ve MVStore dosyasının açılması
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ConfigurableApplicationContext warmStart(Database database, Started started) {
+        started.context = database.open();
+        return started.context;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EmployeeDTO firstQueryAfterStart(Database database, Restarted restarted) {
+        return restarted.context.getBean(EmployeeService.class).getEmployeeWithTasksInOneQueryDTO(database.randomEmployeeId());
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public EmployeeDTO employeeWithTasks(Database database, Running running) {
+        return running.employeeService.getEmployeeWithTasksInOneQueryDTO(database.randomEmployeeId());
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public Object overdueFirstPage(Running running) {
+        return running.taskService.getOverdueTasksPage(null, 100).getContent();
+    }
+}
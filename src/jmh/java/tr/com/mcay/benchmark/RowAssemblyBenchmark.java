@@ -0,0 +1,91 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.TaskDTO;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tek sorguluk departman DTO ağacının kurulması: eski {@code SELECT new map(...)} satırları ile
+ * tipli record satırlarının karşılaştırması. Bir departman {@code employeesPerDepartment × tasksPerEmployee}
+ * satır döndürdüğü için satır başına allocation {@code gc.alloc.rate.norm / satır sayısı} olarak okunur.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RowAssemblyBenchmark {
+    
+    private static final String MAP_QUERY = "SELECT new map(" +
+            "d.id as departmentId, d.name as departmentName, " +
+            "e.id as employeeId, e.name as employeeName, e.position as employeePosition, " +
+            "t.id as taskId, t.title as taskTitle, t.description as taskDescription, " +
+            "t.dueDate as taskDueDate, t.completed as taskCompleted) " +
+            "FROM Department d JOIN d.employees e JOIN e.tasks t " +
+            "WHERE d.id = :id";
+    
+    @Benchmark
+    public DepartmentDTO mapRows(BenchmarkState state) {
+        EntityManager entityManager = state.bean(EntityManager.class);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> results = entityManager.createQuery(MAP_QUERY)
+                .setParameter("id", state.nextDepartmentId())
+                .getResultList();
+        return assembleFromMaps(results);
+    }
+    
+    @Benchmark
+    public DepartmentDTO typedRows(BenchmarkState state) {
+        return state.departmentService().getDepartmentWithEmployeesAndTasksInOneQueryDTO(state.nextDepartmentId());
+    }
+    
+    // Map tabanlı eski birleştirme kodu, karşılaştırma için olduğu gibi korunmuştur
+    private static DepartmentDTO assembleFromMaps(List<Map<String, Object>> results) {
+        Map<String, Object> firstRow = results.get(0);
+        DepartmentDTO departmentDTO = new DepartmentDTO(
+                ((Number) firstRow.get("departmentId")).longValue(),
+                (String) firstRow.get("departmentName")
+        );
+        
+        Map<Long, EmployeeDTO> employeeDTOMap = new HashMap<>();
+        for (Map<String, Object> row : results) {
+            Long employeeId = ((Number) row.get("employeeId")).longValue();
+            EmployeeDTO employeeDTO = employeeDTOMap.get(employeeId);
+            
+            if (employeeDTO == null) {
+                employeeDTO = new EmployeeDTO(
+                        employeeId,
+                        (String) row.get("employeeName"),
+                        (String) row.get("employeePosition")
+                );
+                employeeDTOMap.put(employeeId, employeeDTO);
+                departmentDTO.getEmployees().add(employeeDTO);
+            }
+            
+            TaskDTO taskDTO = new TaskDTO(
+                    ((Number) row.get("taskId")).longValue(),
+                    (String) row.get("taskTitle"),
+                    (String) row.get("taskDescription"),
+                    (LocalDate) row.get("taskDueDate"),
+                    (Boolean) row.get("taskCompleted")
+            );
+            employeeDTO.getTasks().add(taskDTO);
+        }
+        
+        return departmentDTO;
+    }
+}
@@ -0,0 +1,69 @@
+package tr.com.mcay.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hibernate istatistiklerinden her iterasyonda çalışan JDBC statement, entity yükleme ve
+ * collection initialize sayılarını okuyup operasyon başına ortalama olarak raporlar.
+ * {@code -prof tr.com.mcay.benchmark.SqlStatementProfiler} ile etkinleştirilir.
+ */
+public class SqlStatementProfiler implements InternalProfiler {
+    
+    private static volatile Statistics statistics;
+    
+    private Statistics measured;
+    private long statementsBefore;
+    private long entitiesBefore;
+    private long collectionsBefore;
+    
+    static void register(Statistics hibernateStatistics) {
+        statistics = hibernateStatistics;
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Hibernate SQL statement count per operation";
+    }
+    
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        // Trial seviyesindeki setup ilk warmup iterasyonu başlamadan önce çalışmadığından istatistikler henüz kayıtlı olmayabilir
+        measured = statistics;
+        if (measured != null) {
+            statementsBefore = measured.getPrepareStatementCount();
+            entitiesBefore = measured.getEntityLoadCount();
+            collectionsBefore = measured.getCollectionLoadCount();
+        }
+    }
+    
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        Statistics current = measured;
+        long ops = result.getMetadata().getAllOps();
+        List<Result> results = new ArrayList<>();
+        if (current == null || ops == 0) {
+            return results;
+        }
+        
+        results.add(perOp("sql.statements", current.getPrepareStatementCount() - statementsBefore, ops, "statements/op"));
+        results.add(perOp("sql.entities", current.getEntityLoadCount() - entitiesBefore, ops, "entities/op"));
+        results.add(perOp("sql.collections", current.getCollectionLoadCount() - collectionsBefore, ops, "collections/op"));
+        return results;
+    }
+    
+    private static ScalarResult perOp(String label, long count, long ops, String unit) {
+        return new ScalarResult(label, (double) count / ops, unit, AggregationPolicy.AVG);
+    }
+}
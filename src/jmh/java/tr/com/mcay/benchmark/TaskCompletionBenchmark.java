@@ -0,0 +1,85 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tr.com.mcay.config.GeneratedData;
+import tr.com.mcay.service.TaskService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gece işlerindeki gibi çok sayıda görevi tamamlama: her görev için {@code markTaskAsCompleted}
+ * (kilitler, select ve update, görev başına bir transaction) ile tek transaction'daki toplu UPDATE.
+ * Görevler farklı çalışanlara dağılır; her ölçümden önce tekrar açık duruma getirilir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskCompletionBenchmark {
+    
+    @Param("1000")
+    public int tasks;
+    
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> taskIds;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        
+        // 20 görevli çalışanların her birinden bir görev: her tamamlama ayrı bir çalışanın versiyonunu artırır
+        GeneratedData data = BenchmarkApplication.generate(context, 10, Math.max(1, tasks / 10), 0, 20);
+        taskIds = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            taskIds.add(data.firstTaskId() + i * 20L);
+        }
+        
+        BenchmarkApplication.registerStatistics(context);
+    }
+    
+    @Setup(Level.Invocation)
+    public void reopenTasks() {
+        jdbcTemplate.update("UPDATE task SET completed = FALSE WHERE completed = TRUE");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SqlStatementProfiler.register(null);
+        context.close();
+    }
+    
+    @Benchmark
+    public int perEntity() {
+        for (Long id : taskIds) {
+            taskService.markTaskAsCompleted(id);
+        }
+        return taskIds.size();
+    }
+    
+    @Benchmark
+    public long bulkByIds() {
+        return taskService.completeTasks(taskIds).getCompleted();
+    }
+}
@@ -0,0 +1,41 @@
+package tr.com.mcay.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService içindeki görev + çalışan (+ departman) getirme stratejileri.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskFetchBenchmark {
+    
+    @Benchmark
+    public void withEmployeeTransactional(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.taskService().getTaskWithEmployeeTransactional(state.nextTaskId())));
+    }
+    
+    @Benchmark
+    public void withEmployeeFetch(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.taskService().getTaskWithEmployeeFetch(state.nextTaskId())));
+    }
+    
+    @Benchmark
+    public void withEmployeeAndDepartmentFetch(BenchmarkState state, Blackhole blackhole) throws Exception {
+        blackhole.consume(state.serialize(
+                state.taskService().getTaskWithEmployeeAndDepartmentFetch(state.nextTaskId())));
+    }
+}
@@ -0,0 +1,68 @@
+package tr.com.mcay.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * {@code connection-limit.enabled=true} olduğunda uygulamanın DataSource'unu {@link ConnectionLimitingDataSource}
+ * ile sarar. Replica yönlendirmesi açıksa her havuz ayrı sarılır, önlerindeki yönlendirici DataSource'lar sarılmaz.
+ * Sıra durumu havuz başına ({@code pool} etiketi) {@code connection.limit.active}, {@code connection.limit.waiting}
+ * ve {@code connection.limit.rejected} metrikleriyle izlenir.
+ */
+@Configuration
+@EnableConfigurationProperties(ConnectionLimitProperties.class)
+@ConditionalOnProperty(prefix = "connection-limit", name = "enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+    
+    // BeanPostProcessor diğer bean'lerden önce oluşturulduğu için properties tembel alınır
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(ObjectProvider<ConnectionLimitProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof DelegatingDataSource
+                        || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                return new ConnectionLimitingDataSource((DataSource) bean, properties.getObject());
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder connectionLimitMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limited) {
+                bindMetrics(name, limited, registry);
+            }
+        });
+    }
+    
+    private static void bindMetrics(String pool, ConnectionLimitingDataSource dataSource, MeterRegistry registry) {
+        Gauge.builder("connection.limit.active", dataSource, ConnectionLimitingDataSource::getActive)
+                .description("Limiter üzerinden alınmış açık bağlantılar")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("connection.limit.waiting", dataSource, ConnectionLimitingDataSource::getWaiting)
+                .description("Bağlantı sırasında bekleyen thread'ler")
+                .tag("pool", pool)
+                .register(registry);
+        FunctionCounter.builder("connection.limit.rejected", dataSource, ConnectionLimitingDataSource::getRejected)
+                .description("Sıra dolu olduğu veya bekleme süresi dolduğu için reddedilen bağlantı istekleri")
+                .tag("pool", pool)
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package tr.com.mcay.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "connection-limit")
+public class ConnectionLimitProperties {
+    
+    // DataSource'un önüne FIFO bir semaphore konur (high-concurrency profilinde açık)
+    private boolean enabled = false;
+    
+    // Aynı anda açık olabilecek bağlantı; Hikari havuz boyutuyla aynı olmalı, böylece Hikari'de hiç bekleme olmaz
+    private int maxConcurrent = 10;
+    
+    // Sırada bekleyebilecek en fazla thread; aşıldığında bağlantı beklemeden reddedilir
+    private int maxWaiting = 1000;
+    
+    // Sırada bekleme süresi; dolduğunda bağlantı isteği reddedilir ve istek 503 döner
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+}
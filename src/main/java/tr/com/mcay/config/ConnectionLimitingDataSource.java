@@ -0,0 +1,130 @@
+package tr.com.mcay.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bağlantı havuzunun önünde adil (FIFO) bir semaphore. Binlerce thread aynı anda bağlantı istediğinde
+ * Hikari'nin bekleme kuyruğuna yüklenmek yerine burada sıraya girer; sıra {@code maxWaiting}'i aşarsa
+ * veya {@code acquireTimeout} dolarsa bağlantı beklemeden reddedilir. İzin bağlantı kapatılınca geri verilir.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    
+    public ConnectionLimitingDataSource(DataSource target, ConnectionLimitProperties properties) {
+        super(target);
+        this.permits = new Semaphore(properties.getMaxConcurrent(), true);
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.maxWaiting = properties.getMaxWaiting();
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    public int getWaiting() {
+        return waiting.get();
+    }
+    
+    public long getRejected() {
+        return rejected.sum();
+    }
+    
+    // Parametresiz tryAcquire sıradakileri atlar; 0 süreli tryAcquire adil sıraya uyar
+    private void acquire() throws SQLException {
+        if (tryAcquire(0)) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new SQLTransientConnectionException("Connection wait queue is full (" + maxWaiting + " waiting)");
+        }
+        try {
+            if (!tryAcquire(acquireTimeoutNanos)) {
+                rejected.increment();
+                throw new SQLTransientConnectionException("No connection permit within "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms");
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+    
+    private boolean tryAcquire(long timeoutNanos) throws SQLException {
+        try {
+            return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+    
+    // close() birden fazla çağrılsa da izin bir kez geri verilir
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    // Proxy kendi kimliğini taşır; havuzdaki bağlantıya eşit sayılmaz
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
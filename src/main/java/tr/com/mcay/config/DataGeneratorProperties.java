@@ -0,0 +1,30 @@
+package tr.com.mcay.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "data-generator")
+public class DataGeneratorProperties {
+    
+    // Açılışta, veritabanı boşsa veri üretilir
+    private boolean enabled = true;
+    
+    private int departments = 20;
+    
+    // Ortalama; departmanlara dağılımı employeeSkew belirler, toplam her zaman departments × employeesPerDepartment
+    private int employeesPerDepartment = 50;
+    
+    // Zipf üssü: 0 eşit dağılım, 1'de i. departman 1/i ağırlık alır (ilk departman en kalabalık olanıdır)
+    private double employeeSkew = 0;
+    
+    private int tasksPerEmployee = 10;
+    
+    // Aynı seed ve boyutlarla her çalıştırmada aynı veri (tarihler bugüne göre) üretilir
+    private long seed = 42;
+    
+    // JDBC batch başına satır; her batch ayrı transaction'da commit edilir
+    private int batchSize = 5000;
+}
@@ -0,0 +1,12 @@
+package tr.com.mcay.config;
+
+// SyntheticDataGenerator'ın eklediği satırlar; her tablodaki id'ler first...first + count - 1 aralığında ardışıktır
+public record GeneratedData(
+        long firstDepartmentId,
+        int departments,
+        long firstEmployeeId,
+        int employees,
+        long firstTaskId,
+        long tasks,
+        long elapsedMillis) {
+}
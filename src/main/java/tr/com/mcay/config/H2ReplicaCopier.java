@@ -0,0 +1,128 @@
+package tr.com.mcay.config;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Yerel deneme için asenkron replikasyonu taklit eder: replica H2 veritabanının şeması açılışta Flyway ile kurulur,
+ * ardından her {@code local-copy.interval}'de primary tabloları tek bir snapshot olarak okunur ve replica'da tek bir
+ * transaction içinde yeniden yazılır. Replica bu yüzden her zaman primary'nin tutarlı ama en fazla bir aralık kadar
+ * eski bir kopyasıdır; heartbeat satırı da kopyalandığı için gecikme {@link ReplicaLagMonitor} tarafından ölçülür.
+ * <p>
+ * Her kopyalama tüm tabloları baştan yazdığı için sadece küçük, yerel veri setleri içindir.
+ */
+public class H2ReplicaCopier implements DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(H2ReplicaCopier.class);
+    
+    // Foreign key sırasına göre: insert'ler bu sırayla, silmeler ters sırayla yapılır
+    private static final List<String> TABLES = List.of("department", "employee", "task", "replica_heartbeat");
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration interval;
+    private final ThreadPoolTaskScheduler scheduler;
+    
+    public H2ReplicaCopier(DataSource primary, DataSource replica, ReplicaProperties properties) {
+        this.primary = primary;
+        this.replica = replica;
+        this.interval = properties.getLocalCopy().getInterval();
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setThreadNamePrefix("replica-copy-");
+        this.scheduler.initialize();
+        Flyway.configure().dataSource(replica).load().migrate();
+    }
+    
+    // Açılıştaki veri üretimi (CommandLineRunner) bittikten bir aralık sonra başlar, ilk kopya üretilen veriyi içerir
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::copy, Instant.now().plus(interval), interval);
+    }
+    
+    void copy() {
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            // Tüm tablolar aynı anın görüntüsünden okunur, replica'da yarım kalmış bir yazma görünmez
+            source.setReadOnly(true);
+            source.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                try (Statement delete = target.createStatement()) {
+                    for (int i = TABLES.size() - 1; i >= 0; i--) {
+                        delete.executeUpdate("DELETE FROM " + TABLES.get(i));
+                    }
+                }
+                for (String table : TABLES) {
+                    copyTable(source, target, table);
+                }
+                target.commit();
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            } finally {
+                source.rollback();
+            }
+        } catch (SQLException e) {
+            log.warn("Replica copy failed, replica keeps its previous snapshot: {}", e.getMessage());
+        }
+    }
+    
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("SELECT * FROM " + table)) {
+            ResultSetMetaData metaData = rows.getMetaData();
+            int columns = metaData.getColumnCount();
+            StringBuilder names = new StringBuilder();
+            StringBuilder parameters = new StringBuilder();
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    names.append(", ");
+                    parameters.append(", ");
+                }
+                names.append(metaData.getColumnName(i));
+                parameters.append('?');
+            }
+            
+            try (PreparedStatement insert = target.prepareStatement(
+                    "INSERT INTO " + table + " (" + names + ") VALUES (" + parameters + ")")) {
+                int pending = 0;
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        insert.setObject(i, rows.getObject(i));
+                    }
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
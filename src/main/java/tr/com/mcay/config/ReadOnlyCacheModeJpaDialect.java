@@ -0,0 +1,28 @@
+package tr.com.mcay.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+
+/**
+ * Read-only transaction'larda session'ı {@link CacheMode#IGNORE} ile açar: ikinci seviye ve sorgu cache'i ne okunur
+ * ne doldurulur. Cache primary'deki yazmalarla güncel tutulduğu için read-only bir okuma, bir kısmını cache'ten
+ * (primary) bir kısmını gecikmiş replica'dan alamaz; aynı istekte ETag versiyonu ve gövde aynı kaynaktan gelir.
+ * Replica'dan okunan bir satır da cache'e girip primary'den okuyanlara dönmez.
+ */
+class ReadOnlyCacheModeJpaDialect extends HibernateJpaDialect {
+    
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (definition.isReadOnly()) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        }
+        return transactionData;
+    }
+}
@@ -0,0 +1,81 @@
+package tr.com.mcay.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+
+/**
+ * {@code @Transactional(readOnly = true)} transaction'ları replica havuzuna, diğer her şeyi primary havuza yönlendirir.
+ * Replica {@link ReplicaLagMonitor}'e göre {@code max-lag}'den daha gerideyse read-only transaction'lar
+ * {@code lag-fallback} politikasına göre primary'ye gider veya bağlantı {@link SQLTransientConnectionException} ile
+ * reddedilir (istek 503 döner). Heartbeat başlamadan önceki açılış okumaları her zaman primary'de çalışır.
+ * <p>
+ * Karar bağlantı alınırken verilir; transaction manager bağlantıyı read-only bilgisi yayınlanmadan önce aldığı için
+ * bu DataSource bir {@code LazyConnectionDataSourceProxy} arkasında kullanılmalıdır.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private enum Target { PRIMARY, REPLICA }
+    
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReplicaProperties.LagFallback lagFallback;
+    private final Counter fallbacks;
+    private final Counter rejected;
+    
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                     ReplicaProperties.LagFallback lagFallback, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.lagFallback = lagFallback;
+        this.fallbacks = Counter.builder("replica.routing.fallback")
+                .description("Replica gecikmesi nedeniyle primary'ye yönlendirilen read-only bağlantılar")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("replica.routing.rejected")
+                .description("Replica gecikmesi nedeniyle reddedilen read-only bağlantılar")
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        rejectIfReplicaRequired();
+        return super.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        rejectIfReplicaRequired();
+        return super.getConnection(username, password);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (lagMonitor.isReplicaUsable()) {
+            return Target.REPLICA;
+        }
+        if (lagMonitor.isStarted()) {
+            fallbacks.increment();
+        }
+        return Target.PRIMARY;
+    }
+    
+    private void rejectIfReplicaRequired() throws SQLException {
+        if (lagFallback == ReplicaProperties.LagFallback.FAIL
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && lagMonitor.isStarted() && !lagMonitor.isReplicaUsable()) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("Replica lag " + lagMonitor.getLag()
+                    + " exceeds the configured maximum; read-only connection rejected");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package tr.com.mcay.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Replica gecikmesini heartbeat satırıyla ölçer: her {@code heartbeat-interval}'de primary'deki
+ * {@code replica_heartbeat} satırına şimdiki zaman yazılır ve replica'daki değer okunur. Gecikme, replica'da
+ * görülen en son heartbeat'in yaşıdır; replica okunamadığında değer eskidiği için gecikme kendiliğinden büyür.
+ * Heartbeat açılış tamamlandıktan bir aralık sonra başlar; o zamana kadar replica kullanılmaz ve açılıştaki okumalar
+ * (ör. {@link DataInitializer}) gecikme politikasından bağımsız olarak primary'de çalışır.
+ * Gecikme {@code replica.lag} metriğiyle izlenir.
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Duration heartbeatInterval;
+    private final ThreadPoolTaskScheduler scheduler;
+    
+    // Replica'dan okunan en son heartbeat (epoch ms); henüz okunamadıysa -1
+    private volatile long replicaBeat = -1;
+    private volatile boolean replicaReachable = true;
+    private volatile boolean started;
+    
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = properties.getMaxLag();
+        this.heartbeatInterval = properties.getHeartbeatInterval();
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setThreadNamePrefix("replica-heartbeat-");
+        this.scheduler.initialize();
+        Gauge.builder("replica.lag", this, monitor -> {
+                    Duration lag = monitor.getLag();
+                    return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+                })
+                .description("Replica'da görülen en son heartbeat'in yaşı")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        started = true;
+        scheduler.scheduleWithFixedDelay(this::beat, Instant.now().plus(heartbeatInterval), heartbeatInterval);
+    }
+    
+    // Heartbeat henüz replica'dan okunmadıysa null
+    public Duration getLag() {
+        long beat = replicaBeat;
+        return beat < 0 ? null : Duration.ofMillis(Math.max(0, System.currentTimeMillis() - beat));
+    }
+    
+    public boolean isStarted() {
+        return started;
+    }
+    
+    public boolean isReplicaUsable() {
+        Duration lag = getLag();
+        return lag != null && lag.compareTo(maxLag) <= 0;
+    }
+    
+    void beat() {
+        try {
+            primary.update("UPDATE replica_heartbeat SET beat = ? WHERE id = 1", System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Replica heartbeat could not be written to the primary: {}", e.getMessage());
+        }
+        try {
+            Long beat = replica.queryForObject("SELECT beat FROM replica_heartbeat WHERE id = 1", Long.class);
+            if (beat != null) {
+                replicaBeat = beat;
+            }
+            if (!replicaReachable) {
+                log.info("Replica is reachable again, lag {}", getLag());
+                replicaReachable = true;
+            }
+        } catch (DataAccessException e) {
+            // Her denemede değil, sadece erişim kaybolduğunda loglanır
+            if (replicaReachable) {
+                log.warn("Replica heartbeat could not be read, read-only transactions fall back after {}: {}",
+                        maxLag, e.getMessage());
+                replicaReachable = false;
+            }
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,50 @@
+package tr.com.mcay.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+    
+    // Read-only transaction'lar replica havuzuna yönlendirilir (replica profilinde açık)
+    private boolean enabled = false;
+    
+    private String url;
+    
+    private String username = "sa";
+    
+    private String password = "";
+    
+    // Replica bu süreden daha geride ise read-only transaction'lar lag-fallback politikasına göre yönlendirilir
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    // Heartbeat satırının primary'de güncellenme ve replica'dan okunma aralığı; max-lag'den küçük olmalı
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+    
+    private LagFallback lagFallback = LagFallback.PRIMARY;
+    
+    private LocalCopy localCopy = new LocalCopy();
+    
+    public enum LagFallback {
+        // Read-only transaction primary'de çalışır (yazmalarla aynı havuzu paylaşır)
+        PRIMARY,
+        // Bağlantı reddedilir, istek 503 + Retry-After döner; primary rapor yükünden korunur
+        FAIL
+    }
+    
+    @Getter
+    @Setter
+    public static class LocalCopy {
+        
+        // Gerçek replikasyon yerine primary tabloları periyodik olarak replica'ya kopyalanır (iki H2 ile yerel deneme)
+        private boolean enabled = false;
+        
+        // Kopyalama aralığı; max-lag'den büyük yapıldığında gecikme politikası yerelde denenebilir
+        private Duration interval = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,94 @@
+package tr.com.mcay.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * {@code replica.enabled=true} olduğunda iki Hikari havuzu kurar: {@code spring.datasource.*} ile primary ve
+ * {@code replica.*} ile replica. Uygulamanın DataSource'u (JPA, Flyway, JdbcTemplate) bunların önündeki
+ * {@link ReadOnlyRoutingDataSource}'tur; yazma yolu ve read-only olmayan her transaction primary'de kalır.
+ * Havuz ayarları {@code spring.datasource.hikari.*} ve {@code replica.hikari.*} ile verilir.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConfigurationProperties("replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, properties, meterRegistry);
+    }
+    
+    // JpaTransactionManager bağlantıyı transaction'ın read-only bilgisi yayınlanmadan önce alır;
+    // lazy proxy gerçek bağlantıyı ilk statement'a kadar geciktirir, yönlendirme kararı o anda verilir
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor, ReplicaProperties properties,
+                                 MeterRegistry meterRegistry) {
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource(primary, replica, lagMonitor,
+                properties.getLagFallback(), meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "replica.local-copy", name = "enabled", havingValue = "true")
+    public H2ReplicaCopier h2ReplicaCopier(@Qualifier("primaryDataSource") DataSource primary,
+                                           @Qualifier("replicaDataSource") DataSource replica,
+                                           ReplicaProperties properties) {
+        return new H2ReplicaCopier(primary, replica, properties);
+    }
+    
+    // Entity manager factory'nin dialect'i vendor adapter'dan alınmadan önce değiştirilir
+    @Bean
+    public static BeanPostProcessor readOnlyCacheModeJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReadOnlyCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package tr.com.mcay.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Departman, çalışan ve görev tablolarını entity cascade'leri yerine tek bağlantı üzerinden JDBC batch insert ile
+ * doldurur. Prepared statement'lar tüm üretim boyunca yeniden kullanılır, satırlar bellekte biriktirilmez;
+ * 10 milyon görev dakikalar içinde eklenir. Hem açılışta ({@link DataInitializer}) hem de benchmark'larda kullanılır.
+ * <p>
+ * Id aralıkları üretimden önce entity'lerin kullandığı sequence'lerden ayrılır, böylece eşzamanlı insert'lerle
+ * (ör. toplu yükleme) çakışmaz. Her batch ayrı commit edildiği için üretim yarıda kalırsa eklenmiş satırlar ayrılan
+ * aralıklar üzerinden silinir; veritabanında yarım bir veri seti kalmaz.
+ */
+@Component
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class SyntheticDataGenerator {
+    
+    private static final String[] POSITIONS = {"Developer", "Senior Developer", "Tester", "Analyst", "DevOps Engineer",
+            "Architect", "Designer", "Product Owner", "Support Engineer", "Manager"};
+    
+    // Entity'lerdeki @SequenceGenerator allocationSize (pooled-lo) ve migration'daki INCREMENT BY
+    private static final int ALLOCATION_SIZE = 50;
+    
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    public GeneratedData generate(DataGeneratorProperties properties) {
+        long start = System.nanoTime();
+        int[] employeeCounts = employeeCounts(properties.getDepartments(), properties.getEmployeesPerDepartment(),
+                properties.getEmployeeSkew());
+        int employees = Arrays.stream(employeeCounts).sum();
+        long tasks = (long) employees * properties.getTasksPerEmployee();
+        
+        // Id aralıkları insert'lerden önce ayrılır; üretim sürerken gelen istekler aynı id'leri almaz
+        long firstDepartmentId = reserveIds("department", properties.getDepartments());
+        long firstEmployeeId = reserveIds("employee", employees);
+        long firstTaskId = reserveIds("task", tasks);
+        
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                insert(connection, properties, employeeCounts, firstDepartmentId, firstEmployeeId, firstTaskId);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Commit edilmiş batch'ler FK sırasının tersiyle silinir; aralıklar sadece bu üretime ait olduğu için
+            // başka satırlara dokunulmaz
+            try {
+                deleteRange("task", firstTaskId, tasks);
+                deleteRange("employee", firstEmployeeId, employees);
+                deleteRange("department", firstDepartmentId, properties.getDepartments());
+            } catch (RuntimeException cleanup) {
+                log.error("Partially generated data could not be removed; delete ids department {}+{}, employee {}+{}, task {}+{}",
+                        firstDepartmentId, properties.getDepartments(), firstEmployeeId, employees, firstTaskId, tasks);
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        
+        return new GeneratedData(firstDepartmentId, properties.getDepartments(), firstEmployeeId, employees,
+                firstTaskId, tasks, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    // Zipf ağırlıklarına göre dağıtım; yuvarlama kümülatif yapıldığı için toplam tam olarak departments × perDepartment olur
+    static int[] employeeCounts(int departments, int perDepartment, double skew) {
+        double[] weights = new double[departments];
+        double totalWeight = 0;
+        for (int i = 0; i < departments; i++) {
+            weights[i] = Math.pow(i + 1, -skew);
+            totalWeight += weights[i];
+        }
+        
+        long total = (long) departments * perDepartment;
+        int[] counts = new int[departments];
+        double cumulative = 0;
+        long assigned = 0;
+        for (int i = 0; i < departments; i++) {
+            cumulative += weights[i];
+            long upTo = Math.round(total * cumulative / totalWeight);
+            counts[i] = (int) (upTo - assigned);
+            assigned = upTo;
+        }
+        return counts;
+    }
+    
+    private void insert(Connection connection, DataGeneratorProperties properties, int[] employeeCounts,
+                          long departmentId, long employeeId, long taskId) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement departments = connection.prepareStatement(
+                "INSERT INTO department (id, name, uuid, version) VALUES (?, ?, ?, 0)");
+             PreparedStatement employees = connection.prepareStatement(
+                     "INSERT INTO employee (id, name, position, department_id, uuid, version) VALUES (?, ?, ?, ?, ?, 0)");
+             PreparedStatement tasks = connection.prepareStatement(
+                     "INSERT INTO task (id, title, description, due_date, completed, employee_id, uuid, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)")) {
+            
+            SplittableRandom random = new SplittableRandom(properties.getSeed());
+            long uuidPrefix = random.nextLong();
+            LocalDate today = LocalDate.now();
+            int batchSize = properties.getBatchSize();
+            int pending = 0;
+            
+            for (int employeeCount : employeeCounts) {
+                departments.setLong(1, departmentId);
+                departments.setString(2, "Department-" + departmentId);
+                departments.setBytes(3, uuid(uuidPrefix, departmentId));
+                departments.addBatch();
+                
+                for (int e = 0; e < employeeCount; e++, employeeId++) {
+                    employees.setLong(1, employeeId);
+                    employees.setString(2, "Employee-" + employeeId);
+                    employees.setString(3, POSITIONS[random.nextInt(POSITIONS.length)]);
+                    employees.setLong(4, departmentId);
+                    employees.setBytes(5, uuid(uuidPrefix, employeeId));
+                    employees.addBatch();
+                    
+                    for (int t = 0; t < properties.getTasksPerEmployee(); t++, taskId++) {
+                        tasks.setLong(1, taskId);
+                        tasks.setString(2, "Task-" + taskId);
+                        tasks.setString(3, "Description of task " + taskId);
+                        // Son 30 gün ile sonraki 30 gün arasında; tamamlanmamışların yaklaşık yarısı gecikmiştir
+                        tasks.setDate(4, Date.valueOf(today.plusDays(random.nextInt(-30, 30))));
+                        tasks.setBoolean(5, random.nextInt(3) == 0);
+                        tasks.setLong(6, employeeId);
+                        tasks.setBytes(7, uuid(uuidPrefix, taskId));
+                        tasks.addBatch();
+                        
+                        if (++pending >= batchSize) {
+                            flush(connection, departments, employees, tasks);
+                            pending = 0;
+                        }
+                    }
+                    if (++pending >= batchSize) {
+                        flush(connection, departments, employees, tasks);
+                        pending = 0;
+                    }
+                }
+                departmentId++;
+            }
+            flush(connection, departments, employees, tasks);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
+    // FK sırası korunur: önce departmanlar, sonra çalışanlar, en son görevler
+    private static void flush(Connection connection, PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+    
+    // Ardışık aralık tek bir NEXT VALUE FOR ile ayrılır: sequence'in artışı geçici olarak aralık boyutuna (allocationSize'ın
+    // katı) çekilir. Arada sequence'i çağıran Hibernate pooled-lo ile [v, v + 50) bloğunu kullanır; artış 50'nin katı
+    // olduğu için bu blok ayrılan aralıkla çakışmaz, sadece boşta kalır. Generator'ın kendi ayırmaları sırayla yapılır.
+    private synchronized long reserveIds(String table, long count) {
+        String sequence = table + "_seq";
+        long size = Math.max(1, (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE) * ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + size);
+        try {
+            return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        } finally {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+    
+    private void deleteRange(String table, long first, long count) {
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE id BETWEEN ? AND ?", first, first + count - 1);
+    }
+    
+    // Entity'lerdeki UUID kolonu Hibernate tarafından 16 byte binary olarak saklanır. Rastgele UUID'lerde her insert
+    // uuid index'inin farklı bir sayfasına düşer ve MVStore değişen sayfaları her kaydetmede yeniden yazar (dosya boyutu
+    // ve süre birkaç katına çıkar). Burada UUIDv7'deki zaman damgası yerine id kullanılır: sabit önek + id, sürüm 8.
+    private static byte[] uuid(long prefix, long id) {
+        return ByteBuffer.allocate(16)
+                .putLong((prefix & ~0xF000L) | 0x8000L)
+                .putLong(0x8000000000000000L | id)
+                .array();
+    }
+}
@@ -0,0 +1,33 @@
+package tr.com.mcay.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tr.com.mcay.service.DepartmentService;
+import tr.com.mcay.service.EmployeeService;
+
+/**
+ * Departman ve çalışan endpoint'lerinde versiyona dayalı ETag / If-None-Match desteği.
+ * Departman versiyonu çalışan ve görev değişikliklerinde, çalışan versiyonu görev değişikliklerinde de artar.
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+    
+    private final DepartmentService departmentService;
+    private final EmployeeService employeeService;
+    
+    @Autowired
+    public ConditionalGetConfig(DepartmentService departmentService, EmployeeService employeeService) {
+        this.departmentService = departmentService;
+        this.employeeService = employeeService;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VersionETagInterceptor("department", departmentService::getDepartmentVersion))
+                .addPathPatterns("/api/departments/{id}", "/api/departments/{id}/**");
+        registry.addInterceptor(new VersionETagInterceptor("employee", employeeService::getEmployeeVersion))
+                .addPathPatterns("/api/employees/{id}", "/api/employees/{id}/**");
+    }
+}
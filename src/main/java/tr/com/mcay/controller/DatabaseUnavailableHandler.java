@@ -0,0 +1,25 @@
+package tr.com.mcay.controller;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Bağlantı alınamadığında (havuz veya connection-limit sırası dolu, veritabanı erişilemez) 500 yerine
+ * 503 ve Retry-After döner; istemci isteği kısa süre sonra tekrar deneyebilir.
+ * Hatayı kendi yakalayan endpoint'ler kendi durum kodlarını döndürmeye devam eder.
+ */
+@RestControllerAdvice
+class DatabaseUnavailableHandler {
+    
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    ResponseEntity<Void> databaseUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
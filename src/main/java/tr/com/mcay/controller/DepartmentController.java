@@ -1,16 +1,36 @@
 package tr.com.mcay.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import tr.com.mcay.dto.BulkImportResultDTO;
 import tr.com.mcay.entity.Department;
+import tr.com.mcay.service.BulkImportService;
+import tr.com.mcay.service.DepartmentDTOCache;
 import tr.com.mcay.service.DepartmentService;
+import tr.com.mcay.service.ParallelDepartmentDTOAssembler;
+import tr.com.mcay.dto.DeletionResultDTO;
 import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.DepartmentView;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/departments")
@@ -18,51 +38,107 @@ import java.util.List;
 public class DepartmentController {
     
     private final DepartmentService departmentService;
+    private final BulkImportService bulkImportService;
+    private final DepartmentDTOCache departmentDTOCache;
+    private final ParallelDepartmentDTOAssembler parallelDepartmentDTOAssembler;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, BulkImportService bulkImportService,
+                                DepartmentDTOCache departmentDTOCache,
+                                ParallelDepartmentDTOAssembler parallelDepartmentDTOAssembler,
+                                ObjectMapper objectMapper) {
         this.departmentService = departmentService;
+        this.bulkImportService = bulkImportService;
+        this.departmentDTOCache = departmentDTOCache;
+        this.parallelDepartmentDTOAssembler = parallelDepartmentDTOAssembler;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
-    @ApiOperation(value = "Tüm departmanları listeler")
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        return ResponseEntity.ok(departmentService.getAllDepartments());
+    @ApiOperation(value = "Departmanları keyset sayfalama ile listeler (id veya name sıralı, sonraki sayfa Link header'ında)")
+    public ResponseEntity<List<DepartmentView>> getAllDepartments(@RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return KeysetPageResponses.ok(departmentService.getDepartmentsPage(sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    @ApiOperation(value = "ID'ye göre departman getirir")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
+    @ApiOperation(value = "ID'ye göre departmanı çalışanları ve görevleriyle getirir (salt okunur model, entity yüklenmez)")
+    public ResponseEntity<DepartmentView> getDepartmentById(@PathVariable Long id) {
         return departmentService.getDepartmentById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/by-name/{name}")
+    @ApiOperation(value = "İsme göre departman getirir (ikinci seviye cache ve sorgu cache'i üzerinden)")
+    public ResponseEntity<Department> getDepartmentByName(@PathVariable String name) {
+        return departmentService.getDepartmentByName(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @PostMapping
     @ApiOperation(value = "Yeni departman oluşturur")
     public ResponseEntity<Department> createDepartment(@RequestBody Department department) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(departmentService.saveDepartment(department));
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(departmentService.saveDepartment(department));
+        } catch (DataIntegrityViolationException e) {
+            // Aynı isimde departman var (uk_department_name)
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ApiOperation(value = "Departman, çalışan ve görevlerini JSON dizisi veya NDJSON olarak toplu yükler")
+    public ResponseEntity<BulkImportResultDTO> importDepartments(InputStream body) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(bulkImportService.importDepartments(body));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
     
+    // Gövdede versiyon yoksa kontrolsüz güncellenir, varsa eski versiyon 409 ile reddedilir
     @PutMapping("/{id}")
-    @ApiOperation(value = "Var olan departmanı günceller")
-    public ResponseEntity<Department> updateDepartment(@PathVariable Long id, @RequestBody Department department) {
-        return departmentService.getDepartmentById(id)
-                .map(existingDepartment -> {
-                    department.setId(id);
-                    return ResponseEntity.ok(departmentService.saveDepartment(department));
-                })
-                .orElse(ResponseEntity.notFound().build());
+    @ApiOperation(value = "Var olan departmanın alanlarını yüklemeden tek UPDATE ile günceller (çalışanları değiştirmez), güncel halini döner")
+    public ResponseEntity<DepartmentView> updateDepartment(@PathVariable Long id, @RequestBody Department department) {
+        try {
+            return departmentService.updateDepartment(id, department, null)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PatchMapping("/{id}")
+    @ApiOperation(value = "Departmanın sadece gövdede verilen alanlarını yüklemeden tek UPDATE ile günceller, güncel halini döner")
+    public ResponseEntity<DepartmentView> patchDepartment(@PathVariable Long id, @RequestBody Map<String, Object> fields) {
+        try {
+            Department values = PartialUpdates.values(objectMapper, fields, Department.class);
+            return departmentService.updateDepartment(id, values, PartialUpdates.attributes(fields))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
     
     @DeleteMapping("/{id}")
-    @ApiOperation(value = "Departmanı siler")
-    public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
-        return departmentService.getDepartmentById(id)
-                .map(department -> {
-                    departmentService.deleteDepartment(id);
-                    return ResponseEntity.noContent().<Void>build();
-                })
+    @ApiOperation(value = "Departmanı çalışanları ve görevleriyle birlikte siler, silinen satır sayılarını döner")
+    public ResponseEntity<DeletionResultDTO> deleteDepartment(@PathVariable Long id) {
+        return departmentService.deleteDepartment(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -89,7 +165,7 @@ public class DepartmentController {
     }
     
     @GetMapping("/{id}/with-employees-fetch")
-    @ApiOperation(value = "Join fetch ile departman ve çalışanlarını getirir")
+    @ApiOperation(value = "Fetch plan ile departman ve çalışanlarını görevleriyle birlikte tek sorguda getirir")
     public ResponseEntity<Department> getDepartmentWithEmployeesFetch(@PathVariable Long id) {
         try {
             return ResponseEntity.ok(departmentService.getDepartmentWithEmployeesFetch(id));
@@ -99,7 +175,7 @@ public class DepartmentController {
     }
     
     @GetMapping("/{id}/with-employees-and-tasks-fetch")
-    @ApiOperation(value = "Join fetch ile departman, çalışanları ve görevlerini getirir")
+    @ApiOperation(value = "Fetch plan ile departman, çalışanları ve görevlerini tek sorguda getirir")
     public ResponseEntity<Department> getDepartmentWithEmployeesAndTasksFetch(@PathVariable Long id) {
         try {
             return ResponseEntity.ok(departmentService.getDepartmentWithEmployeesAndTasksFetch(id));
@@ -118,6 +194,39 @@ public class DepartmentController {
         }
     }
     
+    @GetMapping("/{id}/with-employees-and-tasks-batched-dto")
+    @ApiOperation(value = "DTO olarak departman, çalışanları ve görevlerini toplu IN sorgularıyla getirir (çalışan sayısından bağımsız sorgu sayısı)")
+    public ResponseEntity<DepartmentDTO> getDepartmentWithEmployeesAndTasksBatchedDTO(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(departmentService.getDepartmentWithEmployeesAndTasksBatchedDTO(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    // İstek thread'i sorgular sürerken serbest kalır. Container async isteğin hata verdiğini (örneğin kopan istemci)
+    // veya zaman aşımına uğradığını bildirirse montaj iptal edilir ve kalan parçalar sorgulanmaz. Tomcat kopan
+    // istemciyi ancak bir sonraki I/O'da fark ettiği için terk edilmiş bir raporu pratikte dto-fetch.parallel.timeout sınırlar.
+    @GetMapping("/{id}/with-employees-and-tasks-parallel-dto")
+    @ApiOperation(value = "DTO olarak departman, çalışanları ve görevlerini çalışan parçalarını paralel sorgulayarak getirir (büyük departmanlar için)")
+    public DeferredResult<ResponseEntity<DepartmentDTO>> getDepartmentWithEmployeesAndTasksParallelDTO(@PathVariable Long id) {
+        DeferredResult<ResponseEntity<DepartmentDTO>> response = new DeferredResult<>();
+        CompletableFuture<DepartmentDTO> assembly;
+        try {
+            assembly = parallelDepartmentDTOAssembler.assemble(id);
+        } catch (Exception e) {
+            response.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            return response;
+        }
+        
+        response.onError(error -> assembly.cancel(false));
+        response.onTimeout(() -> assembly.cancel(false));
+        assembly.whenComplete((departmentDTO, error) -> response.setResult(error == null
+                ? ResponseEntity.ok(departmentDTO)
+                : ResponseEntity.status(parallelAssemblyFailureStatus(error)).build()));
+        return response;
+    }
+    
     @GetMapping("/{id}/with-employees-and-tasks-one-query")
     @ApiOperation(value = "Tek sorguda departman, çalışanları ve görevlerini getirir (N+1 problemi olmadan)")
     public ResponseEntity<Department> getDepartmentWithEmployeesAndTasksInOneQuery(@PathVariable Long id) {
@@ -129,12 +238,19 @@ public class DepartmentController {
     }
     
     @GetMapping("/{id}/with-employees-and-tasks-one-query-dto")
-    @ApiOperation(value = "Tek sorguda DTO olarak departman, çalışanları ve görevlerini getirir (N+1 problemi olmadan)")
+    @ApiOperation(value = "Tek sorguda DTO olarak departman, çalışanları ve görevlerini getirir (N+1 problemi olmadan, cache'li)")
     public ResponseEntity<DepartmentDTO> getDepartmentWithEmployeesAndTasksInOneQueryDTO(@PathVariable Long id) {
         try {
-            return ResponseEntity.ok(departmentService.getDepartmentWithEmployeesAndTasksInOneQueryDTO(id));
+            return ResponseEntity.ok(departmentDTOCache.get(id));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    // Süre dolması veya executor kuyruğunun dolu olması geçici bir durumdur, istemci tekrar deneyebilir
+    private static HttpStatus parallelAssemblyFailureStatus(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException || cause instanceof RejectedExecutionException
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
 } 
\ No newline at end of file
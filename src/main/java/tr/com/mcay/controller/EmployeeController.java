@@ -1,16 +1,23 @@
 package tr.com.mcay.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import tr.com.mcay.dto.DeletionResultDTO;
 import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeView;
 import tr.com.mcay.entity.Employee;
 import tr.com.mcay.service.EmployeeService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -18,29 +25,37 @@ import java.util.List;
 public class EmployeeController {
     
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
-    @ApiOperation(value = "Tüm çalışanları listeler")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    @ApiOperation(value = "Çalışanları keyset sayfalama ile listeler (id veya name sıralı, sonraki sayfa Link header'ında)")
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(@RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return KeysetPageResponses.ok(employeeService.getEmployeesPage(sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    @ApiOperation(value = "ID'ye göre çalışan getirir")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
+    @ApiOperation(value = "ID'ye göre çalışanı görevleriyle getirir (salt okunur model, entity yüklenmez)")
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable Long id) {
         return employeeService.getEmployeeById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/department/{departmentId}")
-    @ApiOperation(value = "Departman ID'sine göre çalışanları listeler")
-    public ResponseEntity<List<Employee>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
+    @ApiOperation(value = "Departman ID'sine göre çalışanları görevleriyle listeler (salt okunur model)")
+    public ResponseEntity<List<EmployeeView>> getEmployeesByDepartmentId(@PathVariable Long departmentId) {
         return ResponseEntity.ok(employeeService.getEmployeesByDepartmentId(departmentId));
     }
     
@@ -50,25 +65,39 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
     }
     
+    // Versiyon gönderilmediyse kontrolsüz güncellenir
     @PutMapping("/{id}")
-    @ApiOperation(value = "Var olan çalışanı günceller")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(id)
-                .map(existingEmployee -> {
-                    employee.setId(id);
-                    return ResponseEntity.ok(employeeService.saveEmployee(employee));
-                })
-                .orElse(ResponseEntity.notFound().build());
+    @ApiOperation(value = "Var olan çalışanın alanlarını yüklemeden tek UPDATE ile günceller (departmanı ve görevleri değiştirmez), güncel halini döner")
+    public ResponseEntity<EmployeeView> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+        try {
+            return employeeService.updateEmployee(id, employee, null)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PatchMapping("/{id}")
+    @ApiOperation(value = "Çalışanın sadece gövdede verilen alanlarını yüklemeden tek UPDATE ile günceller, güncel halini döner")
+    public ResponseEntity<EmployeeView> patchEmployee(@PathVariable Long id, @RequestBody Map<String, Object> fields) {
+        try {
+            Employee values = PartialUpdates.values(objectMapper, fields, Employee.class);
+            return employeeService.updateEmployee(id, values, PartialUpdates.attributes(fields))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
     
     @DeleteMapping("/{id}")
-    @ApiOperation(value = "Çalışanı siler")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
-        return employeeService.getEmployeeById(id)
-                .map(employee -> {
-                    employeeService.deleteEmployee(id);
-                    return ResponseEntity.noContent().<Void>build();
-                })
+    @ApiOperation(value = "Çalışanı görevleriyle birlikte siler, silinen satır sayılarını döner")
+    public ResponseEntity<DeletionResultDTO> deleteEmployee(@PathVariable Long id) {
+        return employeeService.deleteEmployee(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -95,7 +124,7 @@ public class EmployeeController {
     }
     
     @GetMapping("/{id}/with-tasks-fetch")
-    @ApiOperation(value = "Join fetch ile çalışan ve görevlerini getirir (N+1 problemi azaltılmış)")
+    @ApiOperation(value = "Fetch plan ile çalışan ve görevlerini getirir (N+1 problemi azaltılmış)")
     public ResponseEntity<Employee> getEmployeeWithTasksFetch(@PathVariable Long id) {
         try {
             return ResponseEntity.ok(employeeService.getEmployeeWithTasksFetch(id));
@@ -115,7 +144,7 @@ public class EmployeeController {
     }
     
     @GetMapping("/{id}/with-tasks-and-department-fetch")
-    @ApiOperation(value = "Join fetch ile çalışan, görevleri ve departmanını getirir (N+1 problemi azaltılmış)")
+    @ApiOperation(value = "Fetch plan ile çalışan, görevleri ve departmanını getirir (N+1 problemi azaltılmış)")
     public ResponseEntity<Employee> getEmployeeWithTasksAndDepartmentFetch(@PathVariable Long id) {
         try {
             return ResponseEntity.ok(employeeService.getEmployeeWithTasksAndDepartmentFetch(id));
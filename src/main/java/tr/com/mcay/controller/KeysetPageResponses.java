@@ -0,0 +1,28 @@
+package tr.com.mcay.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tr.com.mcay.repository.KeysetPage;
+
+import java.util.List;
+
+// Keyset sayfasını JSON dizisi olarak döner, sonraki sayfanın adresini RFC 8288 Link header'ına yazar
+final class KeysetPageResponses {
+    
+    private KeysetPageResponses() {
+    }
+    
+    static <T> ResponseEntity<List<T>> ok(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .replaceQueryParam("size", page.getSize())
+                    .build()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getContent());
+    }
+}
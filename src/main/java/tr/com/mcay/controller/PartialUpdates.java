@@ -0,0 +1,27 @@
+package tr.com.mcay.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// PATCH gövdesi: JSON nesnesi entity tipine çevrilir, yazılacak alanlar gövdedeki anahtarlardır. "version" yazılmaz,
+// versiyon kontrolü için okunur. Değer tipi uymazsa IllegalArgumentException fırlatılır.
+final class PartialUpdates {
+    
+    private static final String VERSION = "version";
+    
+    private PartialUpdates() {
+    }
+    
+    static <T> T values(ObjectMapper objectMapper, Map<String, Object> body, Class<T> type) {
+        return objectMapper.convertValue(body, type);
+    }
+    
+    static Set<String> attributes(Map<String, Object> body) {
+        Set<String> attributes = new HashSet<>(body.keySet());
+        attributes.remove(VERSION);
+        return attributes;
+    }
+}
@@ -1,15 +1,31 @@
 package tr.com.mcay.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tr.com.mcay.dto.DepartmentOverdueCountDTO;
+import tr.com.mcay.dto.OverdueTaskDTO;
+import tr.com.mcay.dto.TaskCompletionResultDTO;
+import tr.com.mcay.dto.TaskView;
 import tr.com.mcay.entity.Task;
+import tr.com.mcay.service.TaskExportService;
 import tr.com.mcay.service.TaskService;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -17,36 +33,74 @@ import java.util.List;
 public class TaskController {
     
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
-    @ApiOperation(value = "Tüm görevleri listeler")
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    @ApiOperation(value = "Görevleri keyset sayfalama ile listeler (id veya dueDate sıralı, sonraki sayfa Link header'ında)")
+    public ResponseEntity<List<TaskView>> getAllTasks(@RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return KeysetPageResponses.ok(taskService.getTasksPage(sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    @ApiOperation(value = "ID'ye göre görev getirir")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    @ApiOperation(value = "ID'ye göre görev getirir (salt okunur model, entity yüklenmez)")
+    public ResponseEntity<TaskView> getTaskById(@PathVariable Long id) {
         return taskService.getTaskById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/employee/{employeeId}")
-    @ApiOperation(value = "Çalışan ID'sine göre görevleri listeler")
-    public ResponseEntity<List<Task>> getTasksByEmployeeId(@PathVariable Long employeeId) {
+    @ApiOperation(value = "Çalışan ID'sine göre görevleri listeler (salt okunur model)")
+    public ResponseEntity<List<TaskView>> getTasksByEmployeeId(@PathVariable Long employeeId) {
         return ResponseEntity.ok(taskService.getTasksByEmployeeId(employeeId));
     }
     
     @GetMapping("/overdue")
-    @ApiOperation(value = "Gecikmiş görevleri listeler")
-    public ResponseEntity<List<Task>> getOverdueTasks() {
-        return ResponseEntity.ok(taskService.getOverdueTasks());
+    @ApiOperation(value = "Gecikmiş görevleri çalışan ve departman adıyla, vade tarihine göre keyset sayfalama ile listeler")
+    public ResponseEntity<List<OverdueTaskDTO>> getOverdueTasks(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return KeysetPageResponses.ok(taskService.getOverdueTasksPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/overdue/count-by-department")
+    @ApiOperation(value = "Departman başına gecikmiş görev sayısını döner")
+    public ResponseEntity<List<DepartmentOverdueCountDTO>> getOverdueTaskCountsByDepartment() {
+        return ResponseEntity.ok(taskService.getOverdueTaskCountsByDepartment());
+    }
+    
+    @GetMapping("/export")
+    @ApiOperation(value = "Tüm görevleri çalışan ve departman adıyla NDJSON veya CSV olarak akış halinde dışa aktarır")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(taskExportService::writeNdjson);
+        }
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\"")
+                    .body(taskExportService::writeCsv);
+        }
+        return ResponseEntity.badRequest().build();
     }
     
     @PostMapping
@@ -55,15 +109,32 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(taskService.saveTask(task));
     }
     
+    // Eski versiyonla gelen güncelleme 409 döner
     @PutMapping("/{id}")
-    @ApiOperation(value = "Var olan görevi günceller")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task) {
-        return taskService.getTaskById(id)
-                .map(existingTask -> {
-                    task.setId(id);
-                    return ResponseEntity.ok(taskService.saveTask(task));
-                })
-                .orElse(ResponseEntity.notFound().build());
+    @ApiOperation(value = "Var olan görevin alanlarını yüklemeden tek UPDATE ile günceller (çalışanını değiştirmez), güncel halini döner")
+    public ResponseEntity<TaskView> updateTask(@PathVariable Long id, @RequestBody Task task) {
+        try {
+            return taskService.updateTask(id, task, null)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PatchMapping("/{id}")
+    @ApiOperation(value = "Görevin sadece gövdede verilen alanlarını yüklemeden tek UPDATE ile günceller, güncel halini döner")
+    public ResponseEntity<TaskView> patchTask(@PathVariable Long id, @RequestBody Map<String, Object> fields) {
+        try {
+            Task values = PartialUpdates.values(objectMapper, fields, Task.class);
+            return taskService.updateTask(id, values, PartialUpdates.attributes(fields))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
     
     @PutMapping("/{id}/complete")
@@ -76,15 +147,31 @@ public class TaskController {
         }
     }
     
+    @PutMapping("/complete")
+    @ApiOperation(value = "Gövdedeki id listesindeki görevleri toplu UPDATE ile tamamlar, tamamlanan görev sayısını döner")
+    public ResponseEntity<TaskCompletionResultDTO> completeTasks(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.completeTasks(ids));
+    }
+    
+    @PutMapping("/employee/{employeeId}/complete")
+    @ApiOperation(value = "Çalışanın tüm açık görevlerini tek UPDATE ile tamamlar")
+    public ResponseEntity<TaskCompletionResultDTO> completeTasksOfEmployee(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(taskService.completeTasksOfEmployee(employeeId));
+    }
+    
+    @PutMapping("/overdue/complete")
+    @ApiOperation(value = "Vadesi verilen tarihten (varsayılan bugün) önce dolmuş açık görevleri toplu UPDATE ile tamamlar")
+    public ResponseEntity<TaskCompletionResultDTO> completeOverdueTasks(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) {
+        return ResponseEntity.ok(taskService.completeTasksDueBefore(before != null ? before : LocalDate.now()));
+    }
+    
     @DeleteMapping("/{id}")
     @ApiOperation(value = "Görevi siler")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        return taskService.getTaskById(id)
-                .map(task -> {
-                    taskService.deleteTask(id);
-                    return ResponseEntity.noContent().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return taskService.deleteTask(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
     
     // Lazy loading test metotları
@@ -110,7 +197,7 @@ public class TaskController {
     }
     
     @GetMapping("/{id}/with-employee-fetch")
-    @ApiOperation(value = "Join fetch ile görev ve çalışanını getirir")
+    @ApiOperation(value = "Fetch plan ile görev ve çalışanını getirir")
     public ResponseEntity<Task> getTaskWithEmployeeFetch(@PathVariable Long id) {
         try {
             return ResponseEntity.ok(taskService.getTaskWithEmployeeFetch(id));
@@ -130,7 +217,7 @@ public class TaskController {
     }
     
     @GetMapping("/{id}/with-employee-and-department-fetch")
-    @ApiOperation(value = "Join fetch ile görev, çalışanı ve departmanını getirir")
+    @ApiOperation(value = "Fetch plan ile görev, çalışanı ve departmanını getirir")
     public ResponseEntity<Task> getTaskWithEmployeeAndDepartmentFetch(@PathVariable Long id) {
         try {
             return ResponseEntity.ok(taskService.getTaskWithEmployeeAndDepartmentFetch(id));
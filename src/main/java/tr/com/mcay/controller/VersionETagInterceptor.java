@@ -0,0 +1,57 @@
+package tr.com.mcay.controller;
+
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Path'teki {id} kaydının versiyonunu strong ETag olarak kullanır. If-None-Match eşleşirse handler çalışmaz:
+// graf yüklenmez, serialize edilmez, 304 döner. Versiyon graftan önce okunur; arada commit edilen bir yazma
+// en fazla bir sonraki istekte gereksiz 200'e yol açar, eski gövde için 304 dönülmez. Bu yüzden versiyon gövdeden
+// daha yeni bir kaynaktan okunmamalıdır: replica yönlendirmesi açıkken ikisi de read-only transaction'da replica'dan okunur.
+class VersionETagInterceptor implements HandlerInterceptor {
+    
+    private final String resource;
+    private final Function<Long, Optional<Long>> versionLookup;
+    
+    VersionETagInterceptor(String resource, Function<Long, Optional<Long>> versionLookup) {
+        this.resource = resource;
+        this.versionLookup = versionLookup;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        Long id = pathId(request);
+        if (id == null) {
+            return true;
+        }
+        // Kayıt yoksa handler kendi 404'ünü döner
+        return versionLookup.apply(id)
+                .map(version -> !new ServletWebRequest(request, response)
+                        .checkNotModified("\"" + resource + "-" + id + "-v" + version + "\""))
+                .orElse(true);
+    }
+    
+    // /api/employees/department/{departmentId} gibi {id} içermeyen eşleşmeler atlanır
+    @SuppressWarnings("unchecked")
+    private static Long pathId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables != null ? variables.get("id") : null;
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
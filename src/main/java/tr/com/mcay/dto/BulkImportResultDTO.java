@@ -0,0 +1,32 @@
+package tr.com.mcay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    
+    private long departments;
+    private long employees;
+    private long tasks;
+    private List<ChunkDTO> chunks = new ArrayList<>();
+    
+    // Her flush/clear sonrasında o ana kadarki toplamlar
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkDTO {
+        
+        private int chunk;
+        private long departments;
+        private long employees;
+        private long tasks;
+        private long elapsedMillis;
+    }
+}
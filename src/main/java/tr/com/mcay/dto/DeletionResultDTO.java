@@ -0,0 +1,16 @@
+package tr.com.mcay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Toplu silmenin sonucu: tablo başına silinen satır sayıları
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionResultDTO {
+    
+    private int departments;
+    private int employees;
+    private int tasks;
+}
@@ -2,16 +2,20 @@ package tr.com.mcay.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DepartmentDTO {
     
+    // employees eşitliğe dahil değildir; ağacın tamamını gezen derin hash/equals yapılmaz
+    @EqualsAndHashCode.Include
     private Long id;
     private String name;
     private Set<EmployeeDTO> employees = new HashSet<>();
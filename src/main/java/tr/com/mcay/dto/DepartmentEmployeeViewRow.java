@@ -0,0 +1,14 @@
+package tr.com.mcay.dto;
+
+// Bir çalışanın salt okunur modeli ve departmanının id'si; toplu IN sorgusunda çalışanları departmanlara dağıtmak için
+public record DepartmentEmployeeViewRow(
+        long departmentId,
+        long employeeId,
+        String employeeName,
+        String employeePosition,
+        long employeeVersion) {
+    
+    public EmployeeView toEmployeeView() {
+        return new EmployeeView(employeeId, employeeName, employeePosition, employeeVersion);
+    }
+}
@@ -0,0 +1,16 @@
+package tr.com.mcay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentOverdueCountDTO {
+    
+    // Çalışanı veya departmanı olmayan görevler id'si ve adı null olan tek bir satırda toplanır
+    private Long departmentId;
+    private String departmentName;
+    private long overdueTasks;
+}
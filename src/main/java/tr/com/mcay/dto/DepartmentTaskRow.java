@@ -0,0 +1,17 @@
+package tr.com.mcay.dto;
+
+import java.time.LocalDate;
+
+// Departman + çalışan + görev join'inin tek satırı (JPQL constructor expression ile doldurulur)
+public record DepartmentTaskRow(
+        long departmentId,
+        String departmentName,
+        long employeeId,
+        String employeeName,
+        String employeePosition,
+        long taskId,
+        String taskTitle,
+        String taskDescription,
+        LocalDate taskDueDate,
+        boolean taskCompleted) {
+}
@@ -0,0 +1,19 @@
+package tr.com.mcay.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// GET endpoint'lerinin salt okunur departman modeli; çalışanlar ve görevleri ayrı sorgularla id sırasıyla eklenir
+public record DepartmentView(
+        long id,
+        String name,
+        long version,
+        List<EmployeeView> employees) {
+    
+    // Constructor expression; sorgularda ve keyset sayfalamada entity "e" takma adıyla kullanılır
+    public static final String SELECT = "new tr.com.mcay.dto.DepartmentView(e.id, e.name, e.version)";
+    
+    public DepartmentView(long id, String name, long version) {
+        this(id, name, version, new ArrayList<>());
+    }
+}
@@ -2,16 +2,20 @@ package tr.com.mcay.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class EmployeeDTO {
     
+    // Eşitlik sadece id'ye bakar; alt koleksiyonlar hash'e girmez, set'e eklendikten sonra doldurulabilir
+    @EqualsAndHashCode.Include
     private Long id;
     private String name;
     private String position;
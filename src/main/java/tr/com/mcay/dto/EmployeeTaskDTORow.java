@@ -0,0 +1,17 @@
+package tr.com.mcay.dto;
+
+import java.time.LocalDate;
+
+// Bir görev ve sahibi olan çalışanın id'si; toplu IN sorgusunda görevleri çalışanlara dağıtmak için kullanılır
+public record EmployeeTaskDTORow(
+        long employeeId,
+        long taskId,
+        String taskTitle,
+        String taskDescription,
+        LocalDate taskDueDate,
+        boolean taskCompleted) {
+    
+    public TaskDTO toTaskDTO() {
+        return new TaskDTO(taskId, taskTitle, taskDescription, taskDueDate, taskCompleted);
+    }
+}
@@ -0,0 +1,15 @@
+package tr.com.mcay.dto;
+
+import java.time.LocalDate;
+
+// Çalışan + görev join'inin tek satırı (JPQL constructor expression ile doldurulur)
+public record EmployeeTaskRow(
+        long employeeId,
+        String employeeName,
+        String employeePosition,
+        long taskId,
+        String taskTitle,
+        String taskDescription,
+        LocalDate taskDueDate,
+        boolean taskCompleted) {
+}
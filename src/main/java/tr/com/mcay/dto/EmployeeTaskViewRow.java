@@ -0,0 +1,18 @@
+package tr.com.mcay.dto;
+
+import java.time.LocalDate;
+
+// Bir görevin salt okunur modeli ve sahibi olan çalışanın id'si; toplu IN sorgusunda görevleri çalışanlara dağıtmak için
+public record EmployeeTaskViewRow(
+        long employeeId,
+        long taskId,
+        String taskTitle,
+        String taskDescription,
+        LocalDate taskDueDate,
+        boolean taskCompleted,
+        long taskVersion) {
+    
+    public TaskView toTaskView() {
+        return new TaskView(taskId, taskTitle, taskDescription, taskDueDate, taskCompleted, taskVersion);
+    }
+}
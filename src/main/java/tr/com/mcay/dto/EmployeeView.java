@@ -0,0 +1,20 @@
+package tr.com.mcay.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// GET endpoint'lerinin salt okunur çalışan modeli; görevler ayrı bir sorguyla id sırasıyla eklenir
+public record EmployeeView(
+        long id,
+        String name,
+        String position,
+        long version,
+        List<TaskView> tasks) {
+    
+    // Constructor expression; sorgularda ve keyset sayfalamada entity "e" takma adıyla kullanılır
+    public static final String SELECT = "new tr.com.mcay.dto.EmployeeView(e.id, e.name, e.position, e.version)";
+    
+    public EmployeeView(long id, String name, String position, long version) {
+        this(id, name, position, version, new ArrayList<>());
+    }
+}
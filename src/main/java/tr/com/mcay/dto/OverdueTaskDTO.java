@@ -0,0 +1,22 @@
+package tr.com.mcay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Gecikmiş görev listesinin satırı; çalışanı veya departmanı olmayan görevlerde adlar null gelir
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueTaskDTO {
+    
+    private Long id;
+    private String title;
+    private LocalDate dueDate;
+    private Long employeeId;
+    private String employeeName;
+    private Long departmentId;
+    private String departmentName;
+}
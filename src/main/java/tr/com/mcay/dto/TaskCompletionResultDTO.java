@@ -0,0 +1,16 @@
+package tr.com.mcay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Toplu tamamlamanın sonucu: tamamlanan görevler ile versiyonu artırılan çalışan ve departman sayıları
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCompletionResultDTO {
+    
+    private long completed;
+    private int employees;
+    private int departments;
+}
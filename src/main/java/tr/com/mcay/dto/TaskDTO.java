@@ -2,15 +2,19 @@ package tr.com.mcay.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskDTO {
     
+    // Büyük görev setlerinde hash maliyeti alan sayısına değil sadece id'ye bağlıdır
+    @EqualsAndHashCode.Include
     private Long id;
     private String title;
     private String description;
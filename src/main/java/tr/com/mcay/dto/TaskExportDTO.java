@@ -0,0 +1,21 @@
+package tr.com.mcay.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskExportDTO {
+    
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private boolean completed;
+    private String employeeName;
+    private String departmentName;
+}
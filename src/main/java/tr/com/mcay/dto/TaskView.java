@@ -0,0 +1,16 @@
+package tr.com.mcay.dto;
+
+import java.time.LocalDate;
+
+// GET endpoint'lerinin salt okunur görev modeli: entity JSON'undaki kolonlar, entity yüklenmeden okunur
+public record TaskView(
+        long id,
+        String title,
+        String description,
+        LocalDate dueDate,
+        boolean completed,
+        long version) {
+    
+    // Constructor expression; sorgularda ve keyset sayfalamada entity "e" takma adıyla kullanılır
+    public static final String SELECT = "new tr.com.mcay.dto.TaskView(e.id, e.title, e.description, e.dueDate, e.completed, e.version)";
+}
@@ -5,26 +5,48 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = Department.WITH_EMPLOYEES, attributeNodes = @NamedAttributeNode("employees"))
+@NamedEntityGraph(name = Department.WITH_EMPLOYEES_AND_TASKS,
+        attributeNodes = @NamedAttributeNode(value = "employees", subgraph = "employees"),
+        subgraphs = @NamedSubgraph(name = "employees", attributeNodes = @NamedAttributeNode("tasks")))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Department.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Department {
+public class Department extends UuidIdentified {
+    
+    // Entity graph adları (FetchPlan ve @EntityGraph ile kullanılır)
+    public static final String WITH_EMPLOYEES = "Department.withEmployees";
+    public static final String WITH_EMPLOYEES_AND_TASKS = "Department.withEmployeesAndTasks";
+    
+    // İkinci seviye cache bölgeleri (sınırları src/main/resources/application.conf içinde)
+    public static final String CACHE_REGION = "department";
+    public static final String EMPLOYEES_CACHE_REGION = "department-employees";
+    public static final String BY_NAME_CACHE_REGION = "department-by-name";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "department_seq", allocationSize = 50)
     private Long id;
     
     private String name;
     
+    // Çalışan ve görev değişikliklerinde de artırılır, böylece tüm alt ağacın versiyonu olur (ETag)
+    @Version
+    private Long version;
+    
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @BatchSize(size = 30)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EMPLOYEES_CACHE_REGION)
     private Set<Employee> employees = new HashSet<>();
     
     public Department(String name) {
@@ -36,19 +58,6 @@ public class Department {
         employee.setDepartment(this);
     }
     
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Department)) return false;
-        Department department = (Department) o;
-        return id != null && id.equals(department.id);
-    }
-    
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
-    
     @Override
     public String toString() {
         return "Department{" +
@@ -6,26 +6,46 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = Employee.WITH_TASKS, attributeNodes = @NamedAttributeNode("tasks"))
+@NamedEntityGraph(name = Employee.WITH_DEPARTMENT, attributeNodes = @NamedAttributeNode("department"))
+@NamedEntityGraph(name = Employee.WITH_TASKS_AND_DEPARTMENT,
+        attributeNodes = {@NamedAttributeNode("tasks"), @NamedAttributeNode("department")})
+// Department.employees cache'i sadece id tutar; elemanlar cache'te olmazsa her biri ayrı sorguyla yüklenirdi
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Employee {
+public class Employee extends UuidIdentified {
+    
+    // Yukarıdaki @NamedEntityGraph tanımlarının adları
+    public static final String WITH_TASKS = "Employee.withTasks";
+    public static final String WITH_DEPARTMENT = "Employee.withDepartment";
+    public static final String WITH_TASKS_AND_DEPARTMENT = "Employee.withTasksAndDepartment";
+    
+    public static final String CACHE_REGION = "employee";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
     
     private String name;
     
     private String position;
     
+    // Görevleri değiştiğinde de artırılır; departman versiyonu gibi alt ağacı kapsar
+    @Version
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     @JsonIgnore
@@ -45,19 +65,6 @@ public class Employee {
         task.setEmployee(this);
     }
     
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Employee)) return false;
-        Employee employee = (Employee) o;
-        return id != null && id.equals(employee.id);
-    }
-    
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
-    
     @Override
     public String toString() {
         return "Employee{" +
@@ -10,14 +10,23 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@NamedEntityGraph(name = Task.WITH_EMPLOYEE, attributeNodes = @NamedAttributeNode("employee"))
+@NamedEntityGraph(name = Task.WITH_EMPLOYEE_AND_DEPARTMENT,
+        attributeNodes = @NamedAttributeNode(value = "employee", subgraph = "employee"),
+        subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("department")))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Task {
+public class Task extends UuidIdentified {
+    
+    // Entity graph adları
+    public static final String WITH_EMPLOYEE = "Task.withEmployee";
+    public static final String WITH_EMPLOYEE_AND_DEPARTMENT = "Task.withEmployeeAndDepartment";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     
     private String title;
@@ -28,6 +37,9 @@ public class Task {
     
     private boolean completed;
     
+    @Version
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     @JsonIgnore
@@ -40,19 +52,6 @@ public class Task {
         this.completed = false;
     }
     
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Task)) return false;
-        Task task = (Task) o;
-        return id != null && id.equals(task.id);
-    }
-    
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
-    
     @Override
     public String toString() {
         return "Task{" +
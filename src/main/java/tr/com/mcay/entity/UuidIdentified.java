@@ -0,0 +1,49 @@
+package tr.com.mcay.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import java.util.UUID;
+
+/**
+ * equals/hashCode için entity kaydedilmeden önce de geçerli olan bir kimlik (uuid) sağlar. Id sequence'ten
+ * persist sırasında geldiği için equals/hashCode'da kullanılamaz; uuid ise oluşturulduğu andan itibaren sabittir,
+ * böylece entity'ler kaydedilmeden önce ve sonra aynı HashSet içinde doğru çalışır.
+ */
+@MappedSuperclass
+public abstract class UuidIdentified {
+    
+    @Column(nullable = false, unique = true, updatable = false, length = 16)
+    @JsonIgnore
+    private UUID uuid;
+    
+    // Kaydedilmemiş entity'ler için uuid ilk ihtiyaç anında atanır; veritabanından yüklenen entity'lerde kolondan gelir
+    public UUID getUuid() {
+        if (uuid == null) {
+            uuid = UUID.randomUUID();
+        }
+        return uuid;
+    }
+    
+    @PrePersist
+    void assignUuid() {
+        getUuid();
+    }
+    
+    // Lazy proxy'ler alt sınıf olduğu için sınıf karşılaştırması Hibernate.getClass ile yapılır
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UuidIdentified) || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        UuidIdentified other = (UuidIdentified) o;
+        return getUuid().equals(other.getUuid());
+    }
+    
+    @Override
+    public int hashCode() {
+        return getUuid().hashCode();
+    }
+}
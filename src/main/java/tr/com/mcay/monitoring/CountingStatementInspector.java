@@ -0,0 +1,15 @@
+package tr.com.mcay.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate'in hazırladığı her SQL statement'ı o anki isteğin sayacına ekler, SQL'i değiştirmez.
+ */
+public class CountingStatementInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        SqlRequestCounter.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,42 @@
+package tr.com.mcay.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JSON serialization sırasında yüklenmemiş lazy ilişkilere karşı ne yapılacağına karar verir.
+ * Entity döndüren endpoint'ler yazdıkları ilişkileri fetch plan ile yükler; bu sınıf gözden kaçan bir ilişki için
+ * güvenlik ağıdır. Session kapandıktan sonra lazy yükleme yapılmadığı için böyle bir ilişki ya response'tan
+ * çıkarılıp {@code fetchplan.lazy.access} sayacına yazılır ya da (testlerde) istek hata ile sonlanır.
+ */
+public class LazyAccessGuard {
+    
+    private static final Logger log = LoggerFactory.getLogger(LazyAccessGuard.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final boolean failOnLazyAccess;
+    
+    public LazyAccessGuard(MeterRegistry meterRegistry, boolean failOnLazyAccess) {
+        this.meterRegistry = meterRegistry;
+        this.failOnLazyAccess = failOnLazyAccess;
+    }
+    
+    // Değer yüklenmişse true döner; değilse sayar (veya fırlatır) ve false döner
+    public boolean check(Object owner, String property, Object value) {
+        if (value == null || Hibernate.isInitialized(value)) {
+            return true;
+        }
+        
+        String entity = Hibernate.getClass(owner).getSimpleName();
+        String role = entity + "." + property;
+        if (failOnLazyAccess) {
+            throw new LazyAccessOutsideFetchPlanException(role);
+        }
+        
+        meterRegistry.counter("fetchplan.lazy.access", "entity", entity, "property", property).increment();
+        log.warn("Lazy association {} was not loaded by the fetch plan and is left out of the response", role);
+        return false;
+    }
+}
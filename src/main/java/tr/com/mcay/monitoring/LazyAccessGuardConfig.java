@@ -0,0 +1,22 @@
+package tr.com.mcay.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LazyAccessGuardConfig {
+    
+    @Bean
+    public LazyAccessGuard lazyAccessGuard(MeterRegistry meterRegistry,
+                                           @Value("${fetch-plan.fail-on-lazy-access:false}") boolean failOnLazyAccess) {
+        return new LazyAccessGuard(meterRegistry, failOnLazyAccess);
+    }
+    
+    // Spring Boot, context'teki Module bean'lerini ObjectMapper'a kendisi kaydeder
+    @Bean
+    public LazyAccessGuardModule lazyAccessGuardModule(LazyAccessGuard lazyAccessGuard) {
+        return new LazyAccessGuardModule(lazyAccessGuard);
+    }
+}
@@ -0,0 +1,66 @@
+package tr.com.mcay.monitoring;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import javax.persistence.Entity;
+import java.util.List;
+
+/**
+ * Entity'lerin ilişki property'lerini (collection'lar ve başka entity'ler) {@link LazyAccessGuard}
+ * kontrolünden geçirerek yazan Jackson modülü. Diğer property'ler ve DTO'lar olduğu gibi yazılır.
+ */
+public class LazyAccessGuardModule extends SimpleModule {
+    
+    public LazyAccessGuardModule(LazyAccessGuard guard) {
+        super("LazyAccessGuardModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                if (!isEntity(beanDesc.getBeanClass())) {
+                    return beanProperties;
+                }
+                for (int i = 0; i < beanProperties.size(); i++) {
+                    BeanPropertyWriter writer = beanProperties.get(i);
+                    if (isAssociation(writer.getType())) {
+                        beanProperties.set(i, new GuardedPropertyWriter(writer, guard));
+                    }
+                }
+                return beanProperties;
+            }
+        });
+    }
+    
+    private static boolean isEntity(Class<?> type) {
+        return AnnotationUtils.findAnnotation(type, Entity.class) != null;
+    }
+    
+    private static boolean isAssociation(JavaType type) {
+        return type.isCollectionLikeType() || type.isMapLikeType() || isEntity(type.getRawClass());
+    }
+    
+    private static final class GuardedPropertyWriter extends BeanPropertyWriter {
+        
+        private final LazyAccessGuard guard;
+        
+        private GuardedPropertyWriter(BeanPropertyWriter base, LazyAccessGuard guard) {
+            super(base);
+            this.guard = guard;
+        }
+        
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (guard.check(bean, getName(), get(bean))) {
+                super.serializeAsField(bean, gen, prov);
+            }
+        }
+    }
+}
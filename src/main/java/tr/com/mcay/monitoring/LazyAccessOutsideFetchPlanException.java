@@ -0,0 +1,12 @@
+package tr.com.mcay.monitoring;
+
+/**
+ * Response'a yazılan bir entity'de fetch plan ile yüklenmemiş bir lazy ilişkiye erişildiğini bildirir.
+ * Sadece {@code fetch-plan.fail-on-lazy-access=true} olduğunda fırlatılır.
+ */
+public class LazyAccessOutsideFetchPlanException extends RuntimeException {
+    
+    public LazyAccessOutsideFetchPlanException(String role) {
+        super("Lazy association " + role + " was not loaded by the fetch plan");
+    }
+}
@@ -0,0 +1,12 @@
+package tr.com.mcay.monitoring;
+
+/**
+ * Bir endpoint'in tanımlı SQL statement bütçesini aştığını bildirir.
+ * Sadece {@code sql-monitor.fail-on-budget-exceeded=true} olduğunda fırlatılır.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+    
+    public SqlBudgetExceededException(String handler, int statements, int budget) {
+        super("SQL statement budget exceeded for " + handler + ": " + statements + " statements, budget " + budget);
+    }
+}
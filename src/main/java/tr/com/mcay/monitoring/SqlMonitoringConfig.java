@@ -0,0 +1,65 @@
+package tr.com.mcay.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+@ConditionalOnProperty(prefix = "sql-monitor", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitoringConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer sqlCountingStatementInspector() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<SqlMonitoringFilter> sqlMonitoringFilter(SqlMonitoringProperties properties,
+                                                                          MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlMonitoringFilter> registration =
+                new FilterRegistrationBean<>(new SqlMonitoringFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+    
+    @Bean
+    public SqlEventListenerRegistrar sqlEventListenerRegistrar(EntityManagerFactory entityManagerFactory) {
+        return new SqlEventListenerRegistrar(entityManagerFactory);
+    }
+    
+    // Entity yükleme ve lazy collection initialize olaylarını sayaca bağlar
+    static class SqlEventListenerRegistrar {
+        
+        private final EntityManagerFactory entityManagerFactory;
+        
+        SqlEventListenerRegistrar(EntityManagerFactory entityManagerFactory) {
+            this.entityManagerFactory = entityManagerFactory;
+        }
+        
+        @PostConstruct
+        void register() {
+            EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD,
+                    (PostLoadEventListener) event -> SqlRequestCounter.entityLoaded());
+            registry.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> SqlRequestCounter.collectionInitialized());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package tr.com.mcay.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Her isteğin SQL statement, entity ve collection sayılarını ölçer. Sayım JSON serialization
+ * sırasında tetiklenen lazy yüklemeleri de kapsar; bu yüzden header'lar etkinse response body
+ * tamponlanır ve header'lar body yazılmadan önce eklenir.
+ */
+public class SqlMonitoringFilter extends OncePerRequestFilter {
+    
+    public static final String STATEMENTS_HEADER = "X-SQL-Statement-Count";
+    public static final String ENTITIES_HEADER = "X-SQL-Entity-Load-Count";
+    public static final String COLLECTIONS_HEADER = "X-SQL-Collection-Load-Count";
+    
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitoringFilter.class);
+    
+    private final SqlMonitoringProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    
+    public SqlMonitoringFilter(SqlMonitoringProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getExcludedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = properties.isResponseHeaders()
+                ? new ContentCachingResponseWrapper(response) : null;
+        SqlRequestCounter counter = SqlRequestCounter.start();
+        try {
+            filterChain.doFilter(request, responseWrapper != null ? responseWrapper : response);
+        } finally {
+            SqlRequestCounter.stop();
+        }
+        
+        if (responseWrapper != null) {
+            response.setHeader(STATEMENTS_HEADER, String.valueOf(counter.getStatements()));
+            response.setHeader(ENTITIES_HEADER, String.valueOf(counter.getEntities()));
+            response.setHeader(COLLECTIONS_HEADER, String.valueOf(counter.getCollections()));
+        }
+        
+        String handler = resolveHandler(request);
+        if (handler != null) {
+            record(handler, counter);
+            checkBudget(handler, counter);
+        }
+        
+        if (responseWrapper != null) {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+    
+    private void record(String handler, SqlRequestCounter counter) {
+        summary("sql.request.statements", handler).record(counter.getStatements());
+        summary("sql.request.entities", handler).record(counter.getEntities());
+        summary("sql.request.collections", handler).record(counter.getCollections());
+    }
+    
+    private DistributionSummary summary(String name, String handler) {
+        return DistributionSummary.builder(name)
+                .tag("handler", handler)
+                .register(meterRegistry);
+    }
+    
+    private void checkBudget(String handler, SqlRequestCounter counter) {
+        Integer budget = properties.getBudgets().get(handler);
+        if (budget == null || counter.getStatements() <= budget) {
+            return;
+        }
+        
+        meterRegistry.counter("sql.request.budget.exceeded", "handler", handler).increment();
+        if (properties.isFailOnBudgetExceeded()) {
+            throw new SqlBudgetExceededException(handler, counter.getStatements(), budget);
+        }
+        log.warn("SQL statement budget exceeded for {}: {} statements, budget {}",
+                handler, counter.getStatements(), budget);
+    }
+    
+    // "DepartmentController.getDepartmentById" formatında handler adı
+    private static String resolveHandler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
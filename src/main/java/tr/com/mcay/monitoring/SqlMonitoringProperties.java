@@ -0,0 +1,31 @@
+package tr.com.mcay.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sql-monitor")
+public class SqlMonitoringProperties {
+    
+    // İstek başına sayım ve metrikler
+    private boolean enabled = true;
+    
+    // Sayıların X-SQL-* response header'ları olarak eklenmesi (response body tamponlanır)
+    private boolean responseHeaders = true;
+    
+    // Bütçe aşıldığında uyarı loglamak yerine SqlBudgetExceededException fırlat (testler için)
+    private boolean failOnBudgetExceeded = false;
+    
+    // "ControllerAdı.metotAdı" -> izin verilen en fazla SQL statement sayısı
+    private Map<String, Integer> budgets = new HashMap<>();
+    
+    // İzlenmeyen path'ler (Ant pattern); akış halinde yazılan response'lar tamponlanmamalı
+    private List<String> excludedPaths = new ArrayList<>();
+}
@@ -0,0 +1,65 @@
+package tr.com.mcay.monitoring;
+
+/**
+ * Bir HTTP isteği boyunca çalışan JDBC statement, yüklenen entity ve lazy initialize edilen
+ * collection sayılarını thread'e bağlı olarak tutar. Sayım sadece {@link #start()} ile
+ * başlatılmış thread'lerde yapılır, istek dışındaki (örneğin başlangıç verisi) sorgular sayılmaz.
+ */
+public final class SqlRequestCounter {
+    
+    private static final ThreadLocal<SqlRequestCounter> CURRENT = new ThreadLocal<>();
+    
+    private int statements;
+    private int entities;
+    private int collections;
+    
+    private SqlRequestCounter() {
+    }
+    
+    public static SqlRequestCounter start() {
+        SqlRequestCounter counter = new SqlRequestCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+    
+    public static void stop() {
+        CURRENT.remove();
+    }
+    
+    public static SqlRequestCounter current() {
+        return CURRENT.get();
+    }
+    
+    static void statementPrepared() {
+        SqlRequestCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+        }
+    }
+    
+    static void entityLoaded() {
+        SqlRequestCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.entities++;
+        }
+    }
+    
+    static void collectionInitialized() {
+        SqlRequestCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.collections++;
+        }
+    }
+    
+    public int getStatements() {
+        return statements;
+    }
+    
+    public int getEntities() {
+        return entities;
+    }
+    
+    public int getCollections() {
+        return collections;
+    }
+}
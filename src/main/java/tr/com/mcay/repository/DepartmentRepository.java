@@ -1,31 +1,51 @@
 package tr.com.mcay.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.DepartmentTaskRow;
+import tr.com.mcay.dto.DepartmentView;
 import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeTaskDTORow;
 import tr.com.mcay.dto.TaskDTO;
 import tr.com.mcay.entity.Department;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends FetchPlanRepository<Department, Long> {
     
+    // Sonuç (departman id'si) sorgu cache'inde, departmanın kendisi entity cache'inde tutulur.
+    // department tablosuna Hibernate üzerinden yapılan her yazma bu bölgedeki sonuçları geçersiz kılar.
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HINT_CACHE_REGION, value = Department.BY_NAME_CACHE_REGION)})
     Optional<Department> findByName(String name);
     
-    @Query("SELECT d FROM Department d LEFT JOIN FETCH d.employees WHERE d.id = :id")
-    Optional<Department> findByIdWithEmployees(Long id);
+    // ETag için: skaler sorgu ikinci seviye cache'e bakmaz. Alt kayıt yazmalarında versiyon PESSIMISTIC_FORCE_INCREMENT
+    // ile sadece satırda artar, cache'teki entity eski versiyonda kalabilir
+    @Query("SELECT d.version FROM Department d WHERE d.id = :id")
+    Optional<Long> findVersionById(Long id);
+    
+    // Salt okunur model (GET endpoint'leri): entity yüklenmez, çalışanlar ve görevleri ayrı sorgularla eklenir
+    @Query("SELECT " + DepartmentView.SELECT + " FROM Department e WHERE e.id = :id")
+    Optional<DepartmentView> findViewById(Long id);
+    
+    // Görevler ve çalışanlar silindikten sonra; silinen departman persistence context'te yönetilir halde kalmaz
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Department d WHERE d.id = :id")
+    int deleteByIdInBulk(Long id);
     
     @Query("SELECT d FROM Department d LEFT JOIN FETCH d.employees")
     List<Department> findAllWithEmployees();
     
-    @Query("SELECT DISTINCT d FROM Department d LEFT JOIN FETCH d.employees WHERE d.id = :id")
-    Optional<Department> findByIdWithEmployeesAndTasks(Long id);
-    
     @Query("SELECT new tr.com.mcay.dto.DepartmentDTO(d.id, d.name) FROM Department d WHERE d.id = :id")
     Optional<DepartmentDTO> findDepartmentDTOById(Long id);
     
@@ -35,15 +55,17 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     @Query("SELECT new tr.com.mcay.dto.TaskDTO(t.id, t.title, t.description, t.dueDate, t.completed) FROM Task t WHERE t.employee.id = :employeeId")
     List<TaskDTO> findTaskDTOsByEmployeeId(Long employeeId);
     
+    @Query("SELECT new tr.com.mcay.dto.EmployeeTaskDTORow(t.employee.id, t.id, t.title, t.description, t.dueDate, t.completed) " +
+           "FROM Task t WHERE t.employee.id IN :employeeIds")
+    List<EmployeeTaskDTORow> findTaskDTORowsByEmployeeIds(Collection<Long> employeeIds);
+    
     @Query("SELECT d FROM Department d JOIN FETCH d.employees e JOIN FETCH e.tasks WHERE d.id = :id")
     Optional<Department> findByIdWithEmployeesAndTasksInOneQuery(Long id);
     
-    @Query("SELECT new map(" +
-           "d.id as departmentId, d.name as departmentName, " +
-           "e.id as employeeId, e.name as employeeName, e.position as employeePosition, " +
-           "t.id as taskId, t.title as taskTitle, t.description as taskDescription, " +
-           "t.dueDate as taskDueDate, t.completed as taskCompleted) " +
+    @Query("SELECT new tr.com.mcay.dto.DepartmentTaskRow(" +
+           "d.id, d.name, e.id, e.name, e.position, " +
+           "t.id, t.title, t.description, t.dueDate, t.completed) " +
            "FROM Department d JOIN d.employees e JOIN e.tasks t " +
            "WHERE d.id = :id")
-    List<Map<String, Object>> findAllDTODataInOneQuery(Long id);
+    List<DepartmentTaskRow> findAllDTODataInOneQuery(Long id);
 } 
\ No newline at end of file
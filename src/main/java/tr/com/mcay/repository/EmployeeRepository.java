@@ -1,20 +1,36 @@
 package tr.com.mcay.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import tr.com.mcay.dto.DepartmentEmployeeViewRow;
 import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeTaskRow;
+import tr.com.mcay.dto.EmployeeView;
 import tr.com.mcay.dto.TaskDTO;
 import tr.com.mcay.entity.Employee;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends FetchPlanRepository<Employee, Long> {
     
-    List<Employee> findByDepartmentId(Long departmentId);
+    // Salt okunur modeller (GET endpoint'leri): entity yüklenmez, görevler ayrı sorguyla eklenir
+    @Query("SELECT " + EmployeeView.SELECT + " FROM Employee e WHERE e.id = :id")
+    Optional<EmployeeView> findViewById(Long id);
+    
+    @Query("SELECT " + EmployeeView.SELECT + " FROM Employee e WHERE e.department.id = :departmentId ORDER BY e.id")
+    List<EmployeeView> findViewsByDepartmentId(Long departmentId);
+    
+    @Query("SELECT new tr.com.mcay.dto.DepartmentEmployeeViewRow(e.department.id, e.id, e.name, e.position, e.version) " +
+           "FROM Employee e WHERE e.department.id IN :departmentIds ORDER BY e.id")
+    List<DepartmentEmployeeViewRow> findViewRowsByDepartmentIds(Collection<Long> departmentIds);
+    
+    // ETag için; DepartmentRepository.findVersionById gibi ikinci seviye cache'e bakmaz
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(Long id);
     
     @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.tasks WHERE e.id = :id")
     Optional<Employee> findByIdWithTasks(Long id);
@@ -22,8 +38,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department WHERE e.id = :id")
     Optional<Employee> findByIdWithDepartment(Long id);
     
-    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.tasks LEFT JOIN FETCH e.department WHERE e.id = :id")
-    Optional<Employee> findByIdWithTasksAndDepartment(Long id);
+    @Modifying
+    @Query("DELETE FROM Employee e WHERE e.department.id = :departmentId")
+    int deleteByDepartmentIdInBulk(Long departmentId);
+    
+    // Silinen çalışan persistence context'te yönetilir halde kalmaz
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.id = :id")
+    int deleteByIdInBulk(Long id);
     
     // DTO metotları
     @Query("SELECT new tr.com.mcay.dto.EmployeeDTO(e.id, e.name, e.position) FROM Employee e WHERE e.id = :id")
@@ -36,11 +58,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e JOIN FETCH e.tasks WHERE e.id = :id")
     Optional<Employee> findByIdWithTasksInOneQuery(Long id);
     
-    @Query("SELECT new map(" +
-           "e.id as employeeId, e.name as employeeName, e.position as employeePosition, " +
-           "t.id as taskId, t.title as taskTitle, t.description as taskDescription, " +
-           "t.dueDate as taskDueDate, t.completed as taskCompleted) " +
+    @Query("SELECT new tr.com.mcay.dto.EmployeeTaskRow(" +
+           "e.id, e.name, e.position, " +
+           "t.id, t.title, t.description, t.dueDate, t.completed) " +
            "FROM Employee e JOIN e.tasks t " +
            "WHERE e.id = :id")
-    List<Map<String, Object>> findAllDTODataInOneQuery(Long id);
+    List<EmployeeTaskRow> findAllDTODataInOneQuery(Long id);
 } 
\ No newline at end of file
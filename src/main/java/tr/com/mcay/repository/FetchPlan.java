@@ -0,0 +1,37 @@
+package tr.com.mcay.repository;
+
+import tr.com.mcay.entity.Department;
+import tr.com.mcay.entity.Employee;
+import tr.com.mcay.entity.Task;
+
+/**
+ * Bir entity ile birlikte hangi ilişkilerin aynı sorguda yükleneceğini tanımlar. Her plan entity
+ * üzerindeki bir {@code @NamedEntityGraph}'a karşılık gelir; plan dışında kalan lazy ilişkiler
+ * session kapandıktan sonra yüklenmez.
+ */
+public enum FetchPlan {
+    
+    DEPARTMENT_WITH_EMPLOYEES(Department.class, Department.WITH_EMPLOYEES),
+    DEPARTMENT_WITH_EMPLOYEES_AND_TASKS(Department.class, Department.WITH_EMPLOYEES_AND_TASKS),
+    EMPLOYEE_WITH_TASKS(Employee.class, Employee.WITH_TASKS),
+    EMPLOYEE_WITH_DEPARTMENT(Employee.class, Employee.WITH_DEPARTMENT),
+    EMPLOYEE_WITH_TASKS_AND_DEPARTMENT(Employee.class, Employee.WITH_TASKS_AND_DEPARTMENT),
+    TASK_WITH_EMPLOYEE(Task.class, Task.WITH_EMPLOYEE),
+    TASK_WITH_EMPLOYEE_AND_DEPARTMENT(Task.class, Task.WITH_EMPLOYEE_AND_DEPARTMENT);
+    
+    private final Class<?> entityType;
+    private final String graphName;
+    
+    FetchPlan(Class<?> entityType, String graphName) {
+        this.entityType = entityType;
+        this.graphName = graphName;
+    }
+    
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+    
+    public String getGraphName() {
+        return graphName;
+    }
+}
@@ -0,0 +1,38 @@
+package tr.com.mcay.repository;
+
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entity'leri id ile, verilen {@link FetchPlan}'ın entity graph'ı uygulanmış tek bir sorguyla yükler.
+ * {@code EntityManager.find} yerine sorgu kullanılır: entity persistence context'te zaten varsa
+ * find onu olduğu gibi döndürür, sorgu ise plan kapsamındaki ilişkileri yine de initialize eder.
+ */
+final class FetchPlanQueries {
+    
+    private FetchPlanQueries() {
+    }
+    
+    static <T> List<T> findAllById(EntityManager entityManager, Class<T> type, Collection<?> ids, FetchPlan plan) {
+        if (!plan.getEntityType().equals(type)) {
+            throw new IllegalArgumentException("Fetch plan " + plan + " does not apply to " + type.getSimpleName());
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        EntityType<T> entity = entityManager.getMetamodel().entity(type);
+        String idName = entity.getId(entity.getIdType().getJavaType()).getName();
+        
+        // Collection join'leri satırları çoğaltır; DISTINCT sadece bellekte uygulanır, SQL'e eklenmez
+        return entityManager.createQuery("SELECT DISTINCT e FROM " + entity.getName() + " e WHERE e." + idName + " IN :ids", type)
+                .setParameter("ids", ids)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(plan.getGraphName()))
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .getResultList();
+    }
+}
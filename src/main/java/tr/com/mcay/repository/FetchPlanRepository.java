@@ -0,0 +1,28 @@
+package tr.com.mcay.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@link JpaRepository} metotlarına ek olarak entity'yi bir {@link FetchPlan} ile yükleyen ve entity'yi
+ * yüklemeden güncelleyen metotlar. Plan entity tipine ait değilse {@link IllegalArgumentException} fırlatılır.
+ */
+@NoRepositoryBean
+public interface FetchPlanRepository<T, ID> extends JpaRepository<T, ID> {
+    
+    Optional<T> findById(ID id, FetchPlan plan);
+    
+    /**
+     * Entity'nin temel alanlarını yüklemeden tek bir {@code UPDATE ... WHERE id = ? [AND version = ?]} ile yazar ve
+     * {@code @Version} değerini artırır. Değerler {@code values} nesnesinden okunur; {@code attributes} null ise tüm
+     * güncellenebilir alanlar (PUT), değilse sadece verilenler (PATCH) yazılır. {@code version} null ise versiyon
+     * kontrol edilmez. Id, versiyon, ilişkiler ve {@code updatable = false} kolonlar yazılamaz, istenirse
+     * {@link IllegalArgumentException} fırlatılır; yazılacak alan yoksa da (ör. sadece versiyon içeren PATCH) aynı
+     * istisna fırlatılır. Güncellenen satır sayısını döner (kayıt yoksa veya versiyon
+     * tutmazsa 0); persistence context'te yönetilen bir kopya varsa güncellenmez.
+     */
+    int updateById(ID id, Long version, T values, Collection<String> attributes);
+}
@@ -0,0 +1,107 @@
+package tr.com.mcay.repository;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Tüm repository'lerin temel sınıfı (@EnableJpaRepositories(repositoryBaseClass = ...))
+public class FetchPlanRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements FetchPlanRepository<T, ID> {
+    
+    private final EntityManager entityManager;
+    private final JpaEntityInformation<T, ?> entityInformation;
+    
+    // updateById ile yazılabilen alanlar; sıralı tutulur, aynı alan kümesi hep aynı JPQL'i (ve sorgu planını) üretir
+    private final Set<String> updatableAttributes;
+    private final String versionAttribute;
+    
+    public FetchPlanRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+        this.entityInformation = entityInformation;
+        
+        EntityType<T> entity = entityManager.getMetamodel().entity(entityInformation.getJavaType());
+        this.updatableAttributes = new TreeSet<>();
+        String version = null;
+        for (SingularAttribute<? super T, ?> attribute : entity.getSingularAttributes()) {
+            if (attribute.isVersion()) {
+                version = attribute.getName();
+            } else if (!attribute.isId() && isUpdatableColumn(attribute)) {
+                updatableAttributes.add(attribute.getName());
+            }
+        }
+        this.versionAttribute = version;
+    }
+    
+    @Override
+    public Optional<T> findById(ID id, FetchPlan plan) {
+        return FetchPlanQueries.findAllById(entityManager, getDomainClass(), List.of(id), plan).stream().findFirst();
+    }
+    
+    @Override
+    @Transactional
+    public int updateById(ID id, Long version, T values, Collection<String> attributes) {
+        Set<String> names = attributes != null ? new TreeSet<>(attributes) : updatableAttributes;
+        // Sadece versiyon içeren bir PATCH hiçbir alanı değiştirmeden versiyonu artırırdı
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No attributes to update");
+        }
+        for (String name : names) {
+            if (!updatableAttributes.contains(name)) {
+                throw new IllegalArgumentException("Attribute " + name + " of " + entityInformation.getEntityName() + " cannot be updated");
+            }
+        }
+        if (version != null && versionAttribute == null) {
+            throw new IllegalArgumentException(entityInformation.getEntityName() + " is not versioned");
+        }
+        
+        StringBuilder jpql = new StringBuilder("UPDATE ").append(entityInformation.getEntityName()).append(" e SET ");
+        for (String name : names) {
+            jpql.append("e.").append(name).append(" = :").append(name).append(", ");
+        }
+        if (versionAttribute != null) {
+            jpql.append("e.").append(versionAttribute).append(" = e.").append(versionAttribute).append(" + 1");
+        } else {
+            jpql.setLength(jpql.length() - 2);
+        }
+        String idAttribute = entityInformation.getIdAttribute().getName();
+        jpql.append(" WHERE e.").append(idAttribute).append(" = :id");
+        if (version != null) {
+            jpql.append(" AND e.").append(versionAttribute).append(" = :version");
+        }
+        
+        Query query = entityManager.createQuery(jpql.toString()).setParameter("id", id);
+        if (version != null) {
+            query.setParameter("version", version);
+        }
+        BeanWrapperImpl source = new BeanWrapperImpl(values);
+        for (String name : names) {
+            query.setParameter(name, source.getPropertyValue(name));
+        }
+        return query.executeUpdate();
+    }
+    
+    // İlişkiler ve updatable = false kolonlar (uuid gibi) toplu UPDATE ile yazılmaz
+    private static boolean isUpdatableColumn(Attribute<?, ?> attribute) {
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            return false;
+        }
+        Column column = attribute.getJavaMember() instanceof AnnotatedElement
+                ? ((AnnotatedElement) attribute.getJavaMember()).getAnnotation(Column.class)
+                : null;
+        return column == null || column.updatable();
+    }
+}
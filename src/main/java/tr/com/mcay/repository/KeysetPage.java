@@ -0,0 +1,35 @@
+package tr.com.mcay.repository;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) sayfalamasında bir sayfa. {@code nextCursor} son sayfada {@code null} olur.
+ */
+public class KeysetPage<T> {
+    
+    private final List<T> content;
+    private final String nextCursor;
+    private final int size;
+    
+    public KeysetPage(List<T> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+    
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
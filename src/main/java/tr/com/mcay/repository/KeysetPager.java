@@ -0,0 +1,197 @@
+package tr.com.mcay.repository;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Listeleri {@code (sıralama alanı, id)} üzerinden keyset (seek) yöntemiyle sayfalar.
+ * Her sayfa bir önceki sayfanın son satırından devam ettiği için maliyet sayfa derinliğinden
+ * bağımsızdır. Devam noktası istemciye opak bir cursor olarak verilir.
+ */
+@Component
+public class KeysetPager {
+    
+    public static final String ID = "id";
+    
+    /**
+     * Projection sorguları için devam noktası sorgusu: {@code (lastValue, lastId)} sonrasındaki satırları
+     * {@code (sıralama alanı, id)} sırasıyla en fazla {@code limit} adet döner. İlk sayfada iki değer de {@code null}.
+     */
+    @FunctionalInterface
+    public interface SeekQuery<T, V> {
+        
+        List<T> fetch(V lastValue, Long lastId, int limit);
+    }
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private final EntityManager entityManager;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    
+    @Autowired
+    public KeysetPager(EntityManager entityManager,
+                       @Value("${pagination.default-page-size:100}") int defaultPageSize,
+                       @Value("${pagination.max-page-size:1000}") int maxPageSize) {
+        this.entityManager = entityManager;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    // "e" takma adlı entity üzerinden yazılmış bir SELECT ifadesinin (ör. constructor expression) sonuçlarını döner;
+    // entity yüklenmez. Sonuç tipi id'yi ve sıralama alanını aynı adlı record bileşenleri veya getter'lar olarak
+    // taşımalıdır. sort null ise id kullanılır; desteklenmeyen sıralama alanı veya geçersiz cursor
+    // IllegalArgumentException fırlatır.
+    public <T, R> KeysetPage<R> findPage(Class<T> type, String select, Class<R> resultType, Set<String> sortable,
+                                         String sort, String cursor, Integer size) {
+        String sortKey = sort != null ? sort : ID;
+        if (!ID.equals(sortKey) && !sortable.contains(sortKey)) {
+            throw new IllegalArgumentException("Unsupported sort key: " + sortKey);
+        }
+        int pageSize = pageSize(size);
+        
+        EntityType<T> entity = entityManager.getMetamodel().entity(type);
+        Class<?> sortType = entity.getAttribute(sortKey).getJavaType();
+        Cursor position = cursor != null ? Cursor.decode(cursor, sortKey, sortType) : null;
+        
+        TypedQuery<R> query = entityManager.createQuery(jpql(select, entity.getName(), sortKey, position), resultType);
+        if (position != null) {
+            query.setParameter("lastId", position.id);
+            if (!ID.equals(sortKey) && position.value != null) {
+                query.setParameter("lastValue", position.value);
+            }
+        }
+        
+        // Bir fazla satır okunarak sonraki sayfanın olup olmadığı anlaşılır
+        List<R> rows = query.setMaxResults(pageSize + 1).getResultList();
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null, pageSize);
+        }
+        
+        List<R> content = rows.subList(0, pageSize);
+        R last = content.get(pageSize - 1);
+        String nextCursor = new Cursor(sortKey, (Long) property(last, ID), property(last, sortKey)).encode();
+        return new KeysetPage<>(content, nextCursor, pageSize);
+    }
+    
+    // Hazır yazılmış DTO sorguları; cursor biçimi ve sayfa boyutu sınırları yukarıdaki sayfalarla aynıdır.
+    // Sıralama değeri null olmayan bir alan olmalıdır (sorgu WHERE koşulu bunu garanti eder)
+    public <T, V> KeysetPage<T> findPage(String sortKey, Class<V> sortType, String cursor, Integer size,
+                                         SeekQuery<T, V> query, Function<T, Long> idOf, Function<T, V> valueOf) {
+        int pageSize = pageSize(size);
+        Cursor position = cursor != null ? Cursor.decode(cursor, sortKey, sortType) : null;
+        
+        List<T> rows = position != null
+                ? query.fetch(sortType.cast(position.value), position.id, pageSize + 1)
+                : query.fetch(null, null, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null, pageSize);
+        }
+        
+        List<T> content = rows.subList(0, pageSize);
+        T last = content.get(pageSize - 1);
+        return new KeysetPage<>(content, new Cursor(sortKey, idOf.apply(last), valueOf.apply(last)).encode(), pageSize);
+    }
+    
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+    }
+    
+    // Record projection'larda bileşen accessor'ı, diğer sınıflarda getter okunur
+    private static Object property(Object row, String name) {
+        if (!row.getClass().isRecord()) {
+            return new BeanWrapperImpl(row).getPropertyValue(name);
+        }
+        for (RecordComponent component : row.getClass().getRecordComponents()) {
+            if (component.getName().equals(name)) {
+                try {
+                    return component.getAccessor().invoke(row);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        throw new IllegalArgumentException(row.getClass().getSimpleName() + " has no component " + name);
+    }
+    
+    // NULL değerler önce gelir (H2'nin artan sıralamadaki varsayılanı), eşit değerler id ile ayrılır
+    private static String jpql(String select, String entityName, String sortKey, Cursor position) {
+        StringBuilder jpql = new StringBuilder("SELECT ").append(select).append(" FROM ").append(entityName).append(" e");
+        
+        if (ID.equals(sortKey)) {
+            if (position != null) {
+                jpql.append(" WHERE e.id > :lastId");
+            }
+            return jpql.append(" ORDER BY e.id ASC").toString();
+        }
+        
+        String key = "e." + sortKey;
+        if (position != null && position.value == null) {
+            jpql.append(" WHERE (").append(key).append(" IS NULL AND e.id > :lastId) OR ").append(key).append(" IS NOT NULL");
+        } else if (position != null) {
+            // İlk koşul index üzerinde aralık taramasını mümkün kılar, ikincisi eşit değerleri id ile ayırır
+            jpql.append(" WHERE ").append(key).append(" >= :lastValue AND (")
+                    .append(key).append(" > :lastValue OR e.id > :lastId)");
+        }
+        return jpql.append(" ORDER BY ").append(key).append(" ASC NULLS FIRST, e.id ASC").toString();
+    }
+    
+    private static final class Cursor {
+        
+        private final String sortKey;
+        private final Long id;
+        private final Object value;
+        
+        private Cursor(String sortKey, Long id, Object value) {
+            this.sortKey = sortKey;
+            this.id = id;
+            this.value = value;
+        }
+        
+        // Biçim: sortKey \n id \n ('v' + değer | 'n')
+        String encode() {
+            String raw = sortKey + "\n" + id + "\n" + (value == null ? "n" : "v" + value);
+            return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static Cursor decode(String token, String sortKey, Class<?> sortType) {
+            try {
+                String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\n", 3);
+                if (parts.length != 3 || !parts[0].equals(sortKey)) {
+                    throw new IllegalArgumentException("Cursor does not match sort key: " + sortKey);
+                }
+                Object value = parts[2].startsWith("v") ? parse(parts[2].substring(1), sortType) : null;
+                return new Cursor(sortKey, Long.valueOf(parts[1]), value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+        
+        private static Object parse(String value, Class<?> type) {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            throw new IllegalArgumentException("Unsupported sort type: " + type.getName());
+        }
+    }
+}
@@ -1,24 +1,124 @@
 package tr.com.mcay.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import tr.com.mcay.dto.DepartmentOverdueCountDTO;
+import tr.com.mcay.dto.EmployeeTaskViewRow;
+import tr.com.mcay.dto.OverdueTaskDTO;
+import tr.com.mcay.dto.TaskExportDTO;
+import tr.com.mcay.dto.TaskView;
 import tr.com.mcay.entity.Task;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends FetchPlanRepository<Task, Long> {
+    
+    // Salt okunur modeller (GET endpoint'leri): entity yüklenmez
+    @Query("SELECT " + TaskView.SELECT + " FROM Task e WHERE e.id = :id")
+    Optional<TaskView> findViewById(Long id);
+    
+    @Query("SELECT " + TaskView.SELECT + " FROM Task e WHERE e.employee.id = :employeeId ORDER BY e.id")
+    List<TaskView> findViewsByEmployeeId(Long employeeId);
+    
+    @Query("SELECT new tr.com.mcay.dto.EmployeeTaskViewRow(t.employee.id, t.id, t.title, t.description, t.dueDate, t.completed, t.version) " +
+           "FROM Task t WHERE t.employee.id IN :employeeIds ORDER BY t.id")
+    List<EmployeeTaskViewRow> findViewRowsByEmployeeIds(Collection<Long> employeeIds);
+    
+    // Gecikmiş görevler idx_task_overdue üzerinden sırayla okunur ve LIMIT'e ulaşınca durulur. completed sabit olsa da
+    // ORDER BY'da yer alır: H2 index'i sıralama için ancak ilk kolondan başlayan ORDER BY'da kullanır.
+    // Çalışan ve departman adı primary key join'leriyle aynı sorguda gelir; sayfa boyutu Pageable ile verilir.
+    @Query("SELECT new tr.com.mcay.dto.OverdueTaskDTO(t.id, t.title, t.dueDate, e.id, e.name, d.id, d.name) " +
+           "FROM Task t LEFT JOIN t.employee e LEFT JOIN e.department d " +
+           "WHERE t.completed = false AND t.dueDate < :today " +
+           "ORDER BY t.completed, t.dueDate, t.id")
+    List<OverdueTaskDTO> findOverdue(LocalDate today, Pageable pageable);
+    
+    // Sonraki sayfalar iki parçada okunur: son vade tarihinin kalan görevleri ve sonraki tarihler. İkisi de index'te
+    // doğrudan konumlanır; tek sorgudaki (dueDate > :last OR id > :lastId) koşulu aynı tarihin okunmuş satırlarını
+    // baştan tarardı ve bir tarihteki görev sayısı arttıkça sayfalar yavaşlardı.
+    @Query("SELECT new tr.com.mcay.dto.OverdueTaskDTO(t.id, t.title, t.dueDate, e.id, e.name, d.id, d.name) " +
+           "FROM Task t LEFT JOIN t.employee e LEFT JOIN e.department d " +
+           "WHERE t.completed = false AND t.dueDate = :dueDate AND t.id > :lastId " +
+           "ORDER BY t.completed, t.dueDate, t.id")
+    List<OverdueTaskDTO> findOverdueOnDueDateAfterId(LocalDate dueDate, Long lastId, Pageable pageable);
+    
+    @Query("SELECT new tr.com.mcay.dto.OverdueTaskDTO(t.id, t.title, t.dueDate, e.id, e.name, d.id, d.name) " +
+           "FROM Task t LEFT JOIN t.employee e LEFT JOIN e.department d " +
+           "WHERE t.completed = false AND t.dueDate > :lastDueDate AND t.dueDate < :today " +
+           "ORDER BY t.completed, t.dueDate, t.id")
+    List<OverdueTaskDTO> findOverdueAfterDueDate(LocalDate today, LocalDate lastDueDate, Pageable pageable);
+    
+    // SLA uyarıları için departman başına gecikmiş görev sayısı (çalışanı olmayan görevler null departmanda)
+    @Query("SELECT new tr.com.mcay.dto.DepartmentOverdueCountDTO(d.id, d.name, COUNT(t)) " +
+           "FROM Task t LEFT JOIN t.employee e LEFT JOIN e.department d " +
+           "WHERE t.completed = false AND t.dueDate < :today " +
+           "GROUP BY d.id, d.name " +
+           "ORDER BY COUNT(t) DESC")
+    List<DepartmentOverdueCountDTO> countOverdueByDepartment(LocalDate today);
+    
+    boolean existsByEmployeeIdAndCompletedFalse(Long employeeId);
+    
+    // Toplu tamamlamada UPDATE'ten önce kilitlenecek çalışanlar: kapsamdaki açık görevlerin sahipleri
+    @Query("SELECT DISTINCT t.employee.id FROM Task t WHERE t.id IN :ids AND t.completed = false AND t.employee IS NOT NULL")
+    List<Long> findOpenTaskOwnerIds(Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT t.employee.id FROM Task t " +
+           "WHERE t.completed = false AND t.dueDate < :date AND t.employee IS NOT NULL")
+    List<Long> findOverdueTaskOwnerIds(LocalDate date);
+    
+    // UPDATE VERSIONED görevlerin @Version değerini de artırır. Sahip koşulu sadece kilitlenmiş çalışanların görevlerini
+    // tamamlar: sahipler okunduktan sonra başka bir çalışana taşınmış görev atlanır ve sayıya girmez.
+    @Modifying
+    @Query("UPDATE VERSIONED Task t SET t.completed = true " +
+           "WHERE t.id IN :ids AND t.completed = false AND (t.employee IS NULL OR t.employee.id IN :ownerIds)")
+    int completeOpenByIds(Collection<Long> ids, Collection<Long> ownerIds);
+    
+    // Açık görevlerinin hiçbirinin sahibi olmayan parça için; boş ownerIds ile "IN ()" gönderilmez
+    @Modifying
+    @Query("UPDATE VERSIONED Task t SET t.completed = true WHERE t.id IN :ids AND t.completed = false AND t.employee IS NULL")
+    int completeUnownedOpenByIds(Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE VERSIONED Task t SET t.completed = true WHERE t.employee.id = :employeeId AND t.completed = false")
+    int completeOpenByEmployeeId(Long employeeId);
+    
+    @Modifying
+    @Query("UPDATE VERSIONED Task t SET t.completed = true " +
+           "WHERE t.employee.id IN :ownerIds AND t.completed = false AND t.dueDate < :date")
+    int completeOverdueByEmployeeIds(Collection<Long> ownerIds, LocalDate date);
+    
+    @Modifying
+    @Query("UPDATE VERSIONED Task t SET t.completed = true WHERE t.employee IS NULL AND t.completed = false AND t.dueDate < :date")
+    int completeUnownedOverdue(LocalDate date);
     
-    List<Task> findByEmployeeId(Long employeeId);
+    // Toplu silme alttan yukarı yapılır: önce görevler, sonra çalışanlar ve departman (foreign key'ler cascade'siz)
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.employee.id = :employeeId")
+    int deleteByEmployeeIdInBulk(Long employeeId);
     
-    List<Task> findByCompletedFalseAndDueDateBefore(LocalDate date);
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.employee.id IN (SELECT e.id FROM Employee e WHERE e.department.id = :departmentId)")
+    int deleteByDepartmentIdInBulk(Long departmentId);
     
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.employee WHERE t.id = :id")
     Optional<Task> findByIdWithEmployee(Long id);
     
-    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.employee e LEFT JOIN FETCH e.department WHERE t.id = :id")
-    Optional<Task> findByIdWithEmployeeAndDepartment(Long id);
-} 
\ No newline at end of file
+    // Export için: satırlar JDBC cursor'dan okundukça işlenir, çalışan ve departman adı join ile tek sorguda gelir
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT new tr.com.mcay.dto.TaskExportDTO(t.id, t.title, t.description, t.dueDate, t.completed, e.name, d.name) " +
+           "FROM Task t LEFT JOIN t.employee e LEFT JOIN e.department d " +
+           "ORDER BY t.id")
+    Stream<TaskExportDTO> streamAllForExport();
+}
\ No newline at end of file
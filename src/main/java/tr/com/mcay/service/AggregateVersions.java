@@ -0,0 +1,163 @@
+package tr.com.mcay.service;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tr.com.mcay.entity.Department;
+import tr.com.mcay.entity.Employee;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Alt kayıtlar değiştiğinde üst kayıtların @Version değerini artırır. Böylece departman versiyonu
+ * çalışanları ve görevleriyle, çalışan versiyonu da görevleriyle birlikte tüm alt ağacın versiyonu olur;
+ * ETag kontrolü tek bir primary key okumasına iner.
+ * <p>
+ * Üst kayıtlar yazmadan önce, henüz persistence context'e yüklenmemişken PESSIMISTIC_FORCE_INCREMENT ile
+ * okunur: satır commit'e kadar kilitlenir ve versiyon hemen artırılır. Aynı departmandaki eşzamanlı yazmalar
+ * böylece birbirini OptimisticLockException ile düşürmek yerine sıraya girer. Optimistic kontrol sadece
+ * yazılan kaydın kendisi için yapılır.
+ * <p>
+ * Hibernate zorla artırılan versiyonu sadece satıra yazar, READ_WRITE ikinci seviye cache'teki kaydı güncellemez.
+ * Versiyonu artırılan kayıt bu yüzden transaction bitince cache'ten çıkarılır; sonraki okuma yeni versiyonu yükler.
+ */
+@Component
+class AggregateVersions {
+    
+    private final EntityManager entityManager;
+    private final int inClauseChunkSize;
+    
+    @Autowired
+    AggregateVersions(EntityManager entityManager,
+                      @Value("${dto-fetch.in-clause-chunk-size:1000}") int inClauseChunkSize) {
+        this.entityManager = entityManager;
+        this.inClauseChunkSize = inClauseChunkSize;
+    }
+    
+    // Görev değişikliklerinde: görevin çalışanı ve departmanı. Kilitlenen departmanın id'si döner (yoksa null);
+    // çalışan kilitlenirken yüklendiği için departman id'si ek sorgu olmadan okunur.
+    Long lockTaskOwners(Long taskId) {
+        Long employeeId = taskId != null
+                ? singleId("SELECT t.employee.id FROM Task t WHERE t.id = :id", taskId).orElse(null)
+                : null;
+        if (employeeId == null) {
+            return null;
+        }
+        lockEmployee(employeeId);
+        Employee employee = entityManager.find(Employee.class, employeeId);
+        return employee != null && employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+    }
+    
+    // Önce departman, sonra çalışan; tüm yazmalarda kilit sırası aynı kalır
+    void lockEmployee(Long employeeId) {
+        if (employeeId == null || isIncremented(Employee.class, employeeId)) {
+            return;
+        }
+        singleId("SELECT e.department.id FROM Employee e WHERE e.id = :id", employeeId).ifPresent(this::lockDepartments);
+        forceIncrement(Employee.class, employeeId);
+    }
+    
+    // Toplu yazmalarda: önce tüm departmanlar id sırasıyla, sonra çalışanlar parça başına tek UPDATE ile.
+    // Kilitlenen departmanların id'leri döner. Toplu UPDATE ikinci seviye cache'te çalışan bölgesini ve
+    // departmanların çalışan listelerini tek tek güncellemek yerine bütünüyle geçersiz kılar.
+    Set<Long> lockEmployees(Collection<Long> employeeIds) {
+        List<Long> sorted = employeeIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        Set<Long> departmentIds = new TreeSet<>();
+        for (int from = 0; from < sorted.size(); from += inClauseChunkSize) {
+            entityManager.createQuery("SELECT DISTINCT e.department.id FROM Employee e WHERE e.id IN :ids", Long.class)
+                    .setParameter("ids", sorted.subList(from, Math.min(from + inClauseChunkSize, sorted.size())))
+                    .getResultList()
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .forEach(departmentIds::add);
+        }
+        lockDepartments(departmentIds.toArray(Long[]::new));
+        
+        for (int from = 0; from < sorted.size(); from += inClauseChunkSize) {
+            entityManager.createQuery("UPDATE Employee e SET e.version = e.version + 1 WHERE e.id IN :ids")
+                    .setParameter("ids", sorted.subList(from, Math.min(from + inClauseChunkSize, sorted.size())))
+                    .executeUpdate();
+        }
+        return departmentIds;
+    }
+    
+    // Çalışanın mevcut departmanı (güncelleme ve silmede kilitlenecek olan)
+    Long departmentIdOf(Long employeeId) {
+        return employeeId != null
+                ? singleId("SELECT e.department.id FROM Employee e WHERE e.id = :id", employeeId).orElse(null)
+                : null;
+    }
+    
+    // Çalışan departman değiştirirken iki departman da kilitlenir; deadlock olmaması için id sırasıyla
+    void lockDepartments(Long... departmentIds) {
+        Arrays.stream(departmentIds)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .forEach(id -> forceIncrement(Department.class, id));
+    }
+    
+    // Toplu silmeden önce silinecek kök kayıt: versiyonu artırılmadan satır kilitlenir, kayıt yoksa false döner.
+    // Alt kayıtlara yazan her işlem önce bu kaydı (veya departmanını) kilitlediği için silme sırasında
+    // silinen ağaca yeni satır eklenemez.
+    boolean lockForDelete(Class<?> type, Long id) {
+        return id != null && entityManager.find(type, id, LockModeType.PESSIMISTIC_WRITE) != null;
+    }
+    
+    // Merge edilmiş kaydın kendisi: gövdede cascade ile gelen alt kayıt değişiklikleri de versiyona yansır
+    void touch(Object managed) {
+        if (entityManager.getLockMode(managed) != LockModeType.PESSIMISTIC_FORCE_INCREMENT) {
+            entityManager.lock(managed, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            evictAfterCompletion(Hibernate.getClass(managed),
+                    entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(managed));
+        }
+    }
+    
+    // Transaction başına bir kez artırılır (toplu görev kaydında aynı çalışan tekrar tekrar gelir)
+    private void forceIncrement(Class<?> type, Long id) {
+        if (!isIncremented(type, id)) {
+            entityManager.find(type, id, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            evictAfterCompletion(type, id);
+        }
+    }
+    
+    // Commit'ten önce çıkarılsaydı eşzamanlı bir okuma eski satırı cache'e geri koyabilirdi
+    private void evictAfterCompletion(Class<?> type, Object id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(type, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.evict(type, id);
+            }
+        });
+    }
+    
+    private boolean isIncremented(Class<?> type, Long id) {
+        return entityManager.getLockMode(entityManager.getReference(type, id)) == LockModeType.PESSIMISTIC_FORCE_INCREMENT;
+    }
+    
+    private Optional<Long> singleId(String jpql, Long id) {
+        return entityManager.createQuery(jpql, Long.class)
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+}
@@ -0,0 +1,200 @@
+package tr.com.mcay.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tr.com.mcay.dto.BulkImportResultDTO;
+import tr.com.mcay.dto.TaskDTO;
+import tr.com.mcay.entity.Department;
+import tr.com.mcay.entity.Employee;
+import tr.com.mcay.entity.Task;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Departman, çalışan ve görevleri JSON dizisi veya NDJSON olarak okuyup toplu kaydeder.
+ * Girdi Jackson streaming parser ile token token okunur, tüm payload hiçbir zaman belleğe alınmaz.
+ * Her {@code bulk-import.chunk-size} entity'de persistence context flush edilip temizlenir,
+ * böylece bellek kullanımı girdi boyutundan bağımsız kalır.
+ */
+@Service
+public class BulkImportService {
+    
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    
+    @Autowired
+    public BulkImportService(EntityManager entityManager, ObjectMapper objectMapper,
+                             @Value("${bulk-import.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+    
+    // Tüm import tek transaction'dır; hata olursa hiçbir kayıt kalmaz
+    @Transactional(rollbackFor = Exception.class)
+    public BulkImportResultDTO importDepartments(InputStream body) throws IOException {
+        ImportProgress progress = new ImportProgress();
+        
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            
+            // JSON dizisinde elemanlar, NDJSON'da ardışık kök nesneler okunur
+            while (token == JsonToken.START_OBJECT) {
+                readDepartment(parser, progress);
+                token = parser.nextToken();
+            }
+            
+            if (array ? token != JsonToken.END_ARRAY : token != null) {
+                throw new JsonParseException(parser, "Expected department object but found " + token);
+            }
+        }
+        
+        progress.flush();
+        return progress.result;
+    }
+    
+    private void readDepartment(JsonParser parser, ImportProgress progress) throws IOException {
+        Department department = new Department();
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            
+            switch (field) {
+                case "name":
+                    String name = parser.getValueAsString();
+                    department = managed(department, department.getId(), Department.class);
+                    department.setName(name);
+                    break;
+                case "employees":
+                    persistIfNew(department, department.getId(), progress, true);
+                    readEmployees(parser, department.getId(), progress);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        
+        persistIfNew(department, department.getId(), progress, true);
+    }
+    
+    private void readEmployees(JsonParser parser, Long departmentId, ImportProgress progress) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            Employee employee = new Employee();
+            employee.setDepartment(entityManager.getReference(Department.class, departmentId));
+            
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                
+                switch (field) {
+                    case "name":
+                        String name = parser.getValueAsString();
+                        employee = managed(employee, employee.getId(), Employee.class);
+                        employee.setName(name);
+                        break;
+                    case "position":
+                        String position = parser.getValueAsString();
+                        employee = managed(employee, employee.getId(), Employee.class);
+                        employee.setPosition(position);
+                        break;
+                    case "tasks":
+                        persistIfNew(employee, employee.getId(), progress, false);
+                        readTasks(parser, employee.getId(), progress);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            
+            persistIfNew(employee, employee.getId(), progress, false);
+        }
+    }
+    
+    private void readTasks(JsonParser parser, Long employeeId, ImportProgress progress) throws IOException {
+        expect(parser, JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            TaskDTO taskDTO = parser.readValueAs(TaskDTO.class);
+            
+            Task task = new Task(taskDTO.getTitle(), taskDTO.getDescription(), taskDTO.getDueDate());
+            task.setCompleted(taskDTO.isCompleted());
+            task.setEmployee(entityManager.getReference(Employee.class, employeeId));
+            entityManager.persist(task);
+            
+            progress.result.setTasks(progress.result.getTasks() + 1);
+            progress.entityPersisted();
+        }
+    }
+    
+    private void persistIfNew(Object entity, Long id, ImportProgress progress, boolean department) {
+        if (id != null) {
+            return;
+        }
+        entityManager.persist(entity);
+        
+        BulkImportResultDTO result = progress.result;
+        if (department) {
+            result.setDepartments(result.getDepartments() + 1);
+        } else {
+            result.setEmployees(result.getEmployees() + 1);
+        }
+        progress.entityPersisted();
+    }
+    
+    // Alt kayıtlar okunurken persistence context temizlenmiş olabilir; sonradan gelen alanlar yönetilen kopyaya yazılır
+    private <T> T managed(T entity, Long id, Class<T> type) {
+        if (id == null || entityManager.contains(entity)) {
+            return entity;
+        }
+        return entityManager.find(type, id);
+    }
+    
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + parser.currentToken());
+        }
+    }
+    
+    private class ImportProgress {
+        
+        private final BulkImportResultDTO result = new BulkImportResultDTO();
+        private final long startedAt = System.currentTimeMillis();
+        private int pending;
+        
+        void entityPersisted() {
+            if (++pending >= chunkSize) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (pending == 0) {
+                return;
+            }
+            entityManager.flush();
+            entityManager.clear();
+            pending = 0;
+            
+            result.getChunks().add(new BulkImportResultDTO.ChunkDTO(
+                    result.getChunks().size() + 1,
+                    result.getDepartments(),
+                    result.getEmployees(),
+                    result.getTasks(),
+                    System.currentTimeMillis() - startedAt));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package tr.com.mcay.service;
+
+import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.DepartmentTaskRow;
+import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeTaskRow;
+import tr.com.mcay.dto.TaskDTO;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Join sorgularından gelen düz satırları tek geçişte DepartmentDTO → EmployeeDTO → TaskDTO ağacına çevirir.
+ * Aynı çalışanın satırları genelde art arda geldiği için çalışan değişimi primitive id karşılaştırmasıyla
+ * anlaşılır; map'e sadece çalışan değiştiğinde bakılır, satır başına bakılmaz.
+ */
+final class DTOTreeAssembler {
+    
+    private DTOTreeAssembler() {
+    }
+    
+    // Satır yoksa null döner
+    static DepartmentDTO assembleDepartment(List<DepartmentTaskRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        
+        DepartmentTaskRow first = rows.get(0);
+        DepartmentDTO departmentDTO = new DepartmentDTO(first.departmentId(), first.departmentName());
+        Map<Long, EmployeeDTO> employees = new HashMap<>();
+        
+        EmployeeDTO current = null;
+        long currentId = 0;
+        for (DepartmentTaskRow row : rows) {
+            if (current == null || row.employeeId() != currentId) {
+                currentId = row.employeeId();
+                current = employees.get(currentId);
+                if (current == null) {
+                    current = new EmployeeDTO(currentId, row.employeeName(), row.employeePosition());
+                    employees.put(currentId, current);
+                    departmentDTO.getEmployees().add(current);
+                }
+            }
+            current.getTasks().add(new TaskDTO(row.taskId(), row.taskTitle(), row.taskDescription(),
+                    row.taskDueDate(), row.taskCompleted()));
+        }
+        
+        return departmentDTO;
+    }
+    
+    // Satır yoksa null döner
+    static EmployeeDTO assembleEmployee(List<EmployeeTaskRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        
+        EmployeeTaskRow first = rows.get(0);
+        EmployeeDTO employeeDTO = new EmployeeDTO(first.employeeId(), first.employeeName(), first.employeePosition());
+        // Görev sayısı baştan belli, set büyürken yeniden hash'lenmez
+        employeeDTO.setTasks(new HashSet<>((int) (rows.size() / 0.75f) + 1));
+        for (EmployeeTaskRow row : rows) {
+            employeeDTO.getTasks().add(new TaskDTO(row.taskId(), row.taskTitle(), row.taskDescription(),
+                    row.taskDueDate(), row.taskCompleted()));
+        }
+        
+        return employeeDTO;
+    }
+}
@@ -0,0 +1,5 @@
+package tr.com.mcay.service;
+
+// Bir departmanın DTO ağacını etkileyen yazma; transaction commit edildikten sonra dinleyicilere ulaşır
+public record DepartmentChangedEvent(Long departmentId) {
+}
@@ -0,0 +1,52 @@
+package tr.com.mcay.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tr.com.mcay.dto.DepartmentDTO;
+
+import java.time.Duration;
+
+/**
+ * Tek sorguda kurulan departman DTO ağaçlarının departman id'sine göre tutulduğu cache.
+ * Aynı anahtar için eşzamanlı istekler tek bir yeniden kurulumu bekler. Kayıtlar departmanı etkileyen
+ * yazmaların commit'inden sonra ({@link DepartmentChangedEvent}) ve en geç {@code expire-after-write} sonunda silinir.
+ * Dönen DTO'lar paylaşılır, çağıranlar tarafından değiştirilmemelidir.
+ */
+@Component
+public class DepartmentDTOCache {
+    
+    private final DepartmentService departmentService;
+    private final Cache<Long, DepartmentDTO> cache;
+    
+    @Autowired
+    public DepartmentDTOCache(DepartmentService departmentService, MeterRegistry meterRegistry,
+                              @Value("${dto-cache.department.maximum-size:1000}") long maximumSize,
+                              @Value("${dto-cache.department.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.departmentService = departmentService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "departmentDTO");
+    }
+    
+    // Kayıt yoksa ağaç kurulur; aynı id için gelen diğer istekler bu kurulumun sonucunu bekler.
+    // Departman bulunamazsa servisin RuntimeException'ı aynen fırlatılır ve hiçbir şey cache'lenmez.
+    public DepartmentDTO get(Long id) {
+        return cache.get(id, departmentService::getDepartmentWithEmployeesAndTasksInOneQueryDTO);
+    }
+    
+    // Kurulumu devam eden bir kayıt varsa silme kurulumun bitmesini bekler, böylece commit öncesi
+    // okunmuş bir ağaç silmeden sonra cache'te kalmaz
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        cache.invalidate(event.departmentId());
+    }
+}
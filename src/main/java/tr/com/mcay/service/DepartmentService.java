@@ -1,46 +1,137 @@
 package tr.com.mcay.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tr.com.mcay.dto.DeletionResultDTO;
 import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.DepartmentView;
 import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeTaskDTORow;
 import tr.com.mcay.dto.TaskDTO;
 import tr.com.mcay.entity.Department;
 import tr.com.mcay.repository.DepartmentRepository;
+import tr.com.mcay.repository.EmployeeRepository;
+import tr.com.mcay.repository.FetchPlan;
+import tr.com.mcay.repository.KeysetPage;
+import tr.com.mcay.repository.KeysetPager;
+import tr.com.mcay.repository.TaskRepository;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.HashMap;
+import java.util.Set;
 
 @Service
 public class DepartmentService {
     
+    private static final Set<String> SORTABLE = Set.of("name");
+    
     private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TaskRepository taskRepository;
+    private final KeysetPager keysetPager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AggregateVersions aggregateVersions;
+    private final ViewTrees viewTrees;
+    private final int inClauseChunkSize;
     
     @Autowired
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                             TaskRepository taskRepository, KeysetPager keysetPager,
+                             ApplicationEventPublisher eventPublisher, AggregateVersions aggregateVersions,
+                             ViewTrees viewTrees,
+                             @Value("${dto-fetch.in-clause-chunk-size:1000}") int inClauseChunkSize) {
         this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.taskRepository = taskRepository;
+        this.keysetPager = keysetPager;
+        this.eventPublisher = eventPublisher;
+        this.aggregateVersions = aggregateVersions;
+        this.viewTrees = viewTrees;
+        this.inClauseChunkSize = inClauseChunkSize;
+    }
+    
+    // Keyset sayfalama: derin sayfalarda da maliyet sayfa boyutuyla sınırlı kalır. Entity yüklenmez; sayfa, çalışanları
+    // ve görevleri salt okunur modeller olarak üç sorguda (chunk boyutuna kadar) okunur
+    @Transactional(readOnly = true)
+    public KeysetPage<DepartmentView> getDepartmentsPage(String sort, String cursor, Integer size) {
+        KeysetPage<DepartmentView> page = keysetPager.findPage(Department.class, DepartmentView.SELECT, DepartmentView.class,
+                SORTABLE, sort, cursor, size);
+        viewTrees.addEmployeesAndTasks(page.getContent());
+        return page;
+    }
+    
+    // ETag için: primary key ile tek kolon okunur. Replica yönlendirmesi açıkken versiyon, gövdeyi okuyan read-only
+    // transaction'lar gibi replica'dan okunur
+    @Transactional(readOnly = true)
+    public Optional<Long> getDepartmentVersion(Long id) {
+        return departmentRepository.findVersionById(id);
     }
     
-    public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+    // JSON çıktısı çalışanları ve görevlerini içerir; entity yüklenmeden departman, çalışanlar ve görevler ayrı okunur
+    @Transactional(readOnly = true)
+    public Optional<DepartmentView> getDepartmentById(Long id) {
+        Optional<DepartmentView> department = departmentRepository.findViewById(id);
+        department.ifPresent(d -> viewTrees.addEmployeesAndTasks(List.of(d)));
+        return department;
     }
     
-    public Optional<Department> getDepartmentById(Long id) {
-        return departmentRepository.findById(id);
+    // Departman, isim sorgusu ve çalışan listesi ikinci seviye cache'ten gelir; sadece görevler veritabanından okunur
+    @Transactional(readOnly = true)
+    public Optional<Department> getDepartmentByName(String name) {
+        Optional<Department> department = departmentRepository.findByName(name);
+        department.ifPresent(d -> d.getEmployees().forEach(employee -> employee.getTasks().size()));
+        return department;
     }
     
     @Transactional
     public Department saveDepartment(Department department) {
-        return departmentRepository.save(department);
+        boolean update = department.getId() != null;
+        Department saved = departmentRepository.save(department);
+        // Gövdedeki çalışan ve görevler de cascade ile güncellenmiş olabilir
+        if (update) {
+            aggregateVersions.touch(saved);
+        }
+        eventPublisher.publishEvent(new DepartmentChangedEvent(saved.getId()));
+        return saved;
     }
     
+    // Departman yüklenmeden tek UPDATE ile güncellenir (versiyonu da artar). attributes null ise gövdedeki tüm alanlar
+    // (PUT), değilse sadece verilenler (PATCH) yazılır; çalışanlar değiştirilmez. Güncel hali GET ile aynı modelde,
+    // aynı transaction içinde okunup döner. Departman yoksa boş döner, gövdedeki versiyon eskiyse
+    // ObjectOptimisticLockingFailureException fırlatılır.
     @Transactional
-    public void deleteDepartment(Long id) {
-        departmentRepository.deleteById(id);
+    public Optional<DepartmentView> updateDepartment(Long id, Department values, Collection<String> attributes) {
+        if (departmentRepository.updateById(id, values.getVersion(), values, attributes) == 0) {
+            // Satır eşleşmediyse ve versiyon gönderildiyse kaydın varlığı ayrıca kontrol edilir (sadece bu durumda)
+            if (values.getVersion() != null && departmentRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Department.class, id);
+            }
+            return Optional.empty();
+        }
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id));
+        return getDepartmentById(id);
+    }
+    
+    // Alt ağaç yüklenmez: departman kilitlendikten sonra görevler, çalışanlar ve departman birer DELETE ile silinir.
+    // Departman yoksa boş döner.
+    @Transactional
+    public Optional<DeletionResultDTO> deleteDepartment(Long id) {
+        if (!aggregateVersions.lockForDelete(Department.class, id)) {
+            return Optional.empty();
+        }
+        int tasks = taskRepository.deleteByDepartmentIdInBulk(id);
+        int employees = employeeRepository.deleteByDepartmentIdInBulk(id);
+        int departments = departmentRepository.deleteByIdInBulk(id);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id));
+        return Optional.of(new DeletionResultDTO(departments, employees, tasks));
     }
     
     // Lazy loading ile ilgili metotlar
@@ -48,8 +139,13 @@ public class DepartmentService {
     // Transaction içinde lazy loading
     @Transactional
     public Department getDepartmentWithEmployeesTransactional(Long id) {
-        return departmentRepository.findById(id)
+        Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+        
+        // Çalışanlar ve görevleri transaction kapanmadan yüklenir (@BatchSize ile gruplanarak)
+        department.getEmployees().forEach(employee -> employee.getTasks().size());
+        
+        return department;
     }
     
     // Transaction olmadan lazy loading (LazyInitializationException fırlatacak)
@@ -63,24 +159,19 @@ public class DepartmentService {
         return department;
     }
     
-    // Join fetch ile lazy loading sorununu çözme
+    // Fetch plan ile lazy loading sorununu çözme. Departman JSON'u çalışanların görevlerini de yazar; plan bu yüzden
+    // görevleri de kapsar, response'tan ilişki düşmez
+    @Transactional(readOnly = true)
     public Department getDepartmentWithEmployeesFetch(Long id) {
-        return departmentRepository.findByIdWithEmployees(id)
+        return departmentRepository.findById(id, FetchPlan.DEPARTMENT_WITH_EMPLOYEES_AND_TASKS)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
     }
     
-    // Join fetch ile tüm ilişkileri (employees ve tasks) getirme
-    @Transactional
+    // Fetch plan ile tüm ilişkileri (employees ve tasks) tek sorguda getirme
+    @Transactional(readOnly = true)
     public Department getDepartmentWithEmployeesAndTasksFetch(Long id) {
-        Department department = departmentRepository.findByIdWithEmployeesAndTasks(id)
+        return departmentRepository.findById(id, FetchPlan.DEPARTMENT_WITH_EMPLOYEES_AND_TASKS)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
-        
-        // Employees yüklendikten sonra, her bir employee için tasks'ları yükle
-        department.getEmployees().forEach(employee -> {
-            employee.getTasks().size(); // Eager loading için
-        });
-        
-        return department;
     }
     
     // DTO kullanarak N+1 problemini çözme
@@ -104,57 +195,48 @@ public class DepartmentService {
         return departmentDTO;
     }
     
+    // DTO'ları toplu IN sorgularıyla getirme: departman, çalışanlar ve tüm görevler ayrı sorgularla gelir,
+    // sorgu sayısı çalışan sayısına değil chunk sayısına bağlıdır (chunk boyutuna kadar 3 sorgu)
+    public DepartmentDTO getDepartmentWithEmployeesAndTasksBatchedDTO(Long id) {
+        DepartmentDTO departmentDTO = departmentRepository.findDepartmentDTOById(id)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+        
+        List<EmployeeDTO> employeeDTOs = departmentRepository.findEmployeeDTOsByDepartmentId(id);
+        Map<Long, EmployeeDTO> employeesById = new HashMap<>((int) (employeeDTOs.size() / 0.75f) + 1);
+        for (EmployeeDTO employeeDTO : employeeDTOs) {
+            employeesById.put(employeeDTO.getId(), employeeDTO);
+        }
+        
+        // IN listesi sürücünün parametre sınırını aşmasın diye parçalara bölünür
+        List<Long> employeeIds = new ArrayList<>(employeesById.keySet());
+        for (int from = 0; from < employeeIds.size(); from += inClauseChunkSize) {
+            List<Long> chunk = employeeIds.subList(from, Math.min(from + inClauseChunkSize, employeeIds.size()));
+            for (EmployeeTaskDTORow row : departmentRepository.findTaskDTORowsByEmployeeIds(chunk)) {
+                employeesById.get(row.employeeId()).getTasks().add(row.toTaskDTO());
+            }
+        }
+        
+        departmentDTO.getEmployees().addAll(employeeDTOs);
+        
+        return departmentDTO;
+    }
+    
     // Tek sorguda tüm verileri getirme
     public Department getDepartmentWithEmployeesAndTasksInOneQuery(Long id) {
         return departmentRepository.findByIdWithEmployeesAndTasksInOneQuery(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
     }
     
-    // Tek sorguda tüm DTO'ları getirme
+    // Tek sorguda tüm DTO'ları getirme. DepartmentDTOCache'in yükleyicisidir; replica yönlendirmesi açıkken
+    // gecikmiş bir ağaç silmeden sonra cache'e girmesin diye read-only olmayan transaction ile primary'den okunur
+    @Transactional
     public DepartmentDTO getDepartmentWithEmployeesAndTasksInOneQueryDTO(Long id) {
-        List<Map<String, Object>> results = departmentRepository.findAllDTODataInOneQuery(id);
+        DepartmentDTO departmentDTO = DTOTreeAssembler.assembleDepartment(departmentRepository.findAllDTODataInOneQuery(id));
         
-        if (results.isEmpty()) {
+        if (departmentDTO == null) {
             throw new RuntimeException("Department not found with id: " + id);
         }
         
-        // Department DTO'yu oluştur
-        Map<String, Object> firstRow = results.get(0);
-        DepartmentDTO departmentDTO = new DepartmentDTO(
-                ((Number) firstRow.get("departmentId")).longValue(),
-                (String) firstRow.get("departmentName")
-        );
-        
-        // Employee ve Task DTO'ları oluştur
-        Map<Long, EmployeeDTO> employeeDTOMap = new HashMap<>();
-        
-        for (Map<String, Object> row : results) {
-            // Employee DTO'yu al veya oluştur
-            Long employeeId = ((Number) row.get("employeeId")).longValue();
-            EmployeeDTO employeeDTO = employeeDTOMap.get(employeeId);
-            
-            if (employeeDTO == null) {
-                employeeDTO = new EmployeeDTO(
-                        employeeId,
-                        (String) row.get("employeeName"),
-                        (String) row.get("employeePosition")
-                );
-                employeeDTOMap.put(employeeId, employeeDTO);
-                departmentDTO.getEmployees().add(employeeDTO);
-            }
-            
-            // Task DTO'yu oluştur ve Employee'ye ekle
-            TaskDTO taskDTO = new TaskDTO(
-                    ((Number) row.get("taskId")).longValue(),
-                    (String) row.get("taskTitle"),
-                    (String) row.get("taskDescription"),
-                    (LocalDate) row.get("taskDueDate"),
-                    (Boolean) row.get("taskCompleted")
-            );
-            
-            employeeDTO.getTasks().add(taskDTO);
-        }
-        
         return departmentDTO;
     }
 } 
\ No newline at end of file
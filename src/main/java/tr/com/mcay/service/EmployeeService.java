@@ -1,49 +1,142 @@
 package tr.com.mcay.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tr.com.mcay.dto.DeletionResultDTO;
 import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeView;
 import tr.com.mcay.dto.TaskDTO;
+import tr.com.mcay.entity.Department;
 import tr.com.mcay.entity.Employee;
 import tr.com.mcay.repository.EmployeeRepository;
+import tr.com.mcay.repository.FetchPlan;
+import tr.com.mcay.repository.KeysetPage;
+import tr.com.mcay.repository.KeysetPager;
+import tr.com.mcay.repository.TaskRepository;
 
-import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EmployeeService {
     
+    private static final Set<String> SORTABLE = Set.of("name");
+    
     private final EmployeeRepository employeeRepository;
+    private final TaskRepository taskRepository;
+    private final KeysetPager keysetPager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AggregateVersions aggregateVersions;
+    private final ViewTrees viewTrees;
     
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, TaskRepository taskRepository,
+                           KeysetPager keysetPager, ApplicationEventPublisher eventPublisher,
+                           AggregateVersions aggregateVersions, ViewTrees viewTrees) {
         this.employeeRepository = employeeRepository;
+        this.taskRepository = taskRepository;
+        this.keysetPager = keysetPager;
+        this.eventPublisher = eventPublisher;
+        this.aggregateVersions = aggregateVersions;
+        this.viewTrees = viewTrees;
     }
     
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    // Keyset sayfalama: derin sayfalarda da maliyet sayfa boyutuyla sınırlı kalır. Entity yüklenmez; sayfa ve görevleri
+    // salt okunur modeller olarak iki sorguda (chunk boyutuna kadar) okunur
+    @Transactional(readOnly = true)
+    public KeysetPage<EmployeeView> getEmployeesPage(String sort, String cursor, Integer size) {
+        KeysetPage<EmployeeView> page = keysetPager.findPage(Employee.class, EmployeeView.SELECT, EmployeeView.class,
+                SORTABLE, sort, cursor, size);
+        viewTrees.addTasks(page.getContent());
+        return page;
     }
     
-    public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<EmployeeView> getEmployeeById(Long id) {
+        Optional<EmployeeView> employee = employeeRepository.findViewById(id);
+        employee.ifPresent(e -> viewTrees.addTasks(List.of(e)));
+        return employee;
     }
     
-    public List<Employee> getEmployeesByDepartmentId(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId);
+    // ETag için: primary key ile tek kolon okunur. Replica yönlendirmesi açıkken versiyon, gövdeyi okuyan read-only
+    // transaction'lar gibi replica'dan okunur
+    @Transactional(readOnly = true)
+    public Optional<Long> getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id);
     }
     
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getEmployeesByDepartmentId(Long departmentId) {
+        List<EmployeeView> employees = employeeRepository.findViewsByDepartmentId(departmentId);
+        viewTrees.addTasks(employees);
+        return employees;
+    }
+    
+    // Güncellemede çalışan eski departmanından ayrılmış olabilir, iki departman da değişmiş sayılır
     @Transactional
     public Employee saveEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        boolean update = employee.getId() != null;
+        aggregateVersions.lockDepartments(aggregateVersions.departmentIdOf(employee.getId()),
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null);
+        if (update) {
+            employeeRepository.findById(employee.getId())
+                    .ifPresent(existing -> publishDepartmentChanged(existing.getDepartment()));
+        }
+        Employee saved = employeeRepository.save(employee);
+        // Gövdedeki görevler de cascade ile güncellenmiş olabilir
+        if (update) {
+            aggregateVersions.touch(saved);
+        }
+        publishDepartmentChanged(saved.getDepartment());
+        return saved;
     }
     
+    // Çalışan yüklenmeden tek UPDATE ile güncellenir; önce departmanı kilitlenip versiyonu artırılır. attributes null ise
+    // gövdedeki tüm alanlar (PUT), değilse sadece verilenler (PATCH) yazılır; departman ve görevler değiştirilmez.
+    // Güncel hali GET ile aynı modelde döner. Çalışan yoksa boş döner, gövdedeki versiyon eskiyse
+    // ObjectOptimisticLockingFailureException fırlatılır.
     @Transactional
-    public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+    public Optional<EmployeeView> updateEmployee(Long id, Employee values, Collection<String> attributes) {
+        Long departmentId = aggregateVersions.departmentIdOf(id);
+        aggregateVersions.lockDepartments(departmentId);
+        if (employeeRepository.updateById(id, values.getVersion(), values, attributes) == 0) {
+            if (values.getVersion() != null && employeeRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+            }
+            return Optional.empty();
+        }
+        if (departmentId != null) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(departmentId));
+        }
+        return getEmployeeById(id);
+    }
+    
+    // Görevler yüklenmeden tek DELETE ile silinir. Departmanın versiyonu artırılır, çalışan satırı
+    // silinene kadar kilitli kalır; çalışan yoksa boş döner.
+    @Transactional
+    public Optional<DeletionResultDTO> deleteEmployee(Long id) {
+        Long departmentId = aggregateVersions.departmentIdOf(id);
+        aggregateVersions.lockDepartments(departmentId);
+        if (!aggregateVersions.lockForDelete(Employee.class, id)) {
+            return Optional.empty();
+        }
+        int tasks = taskRepository.deleteByEmployeeIdInBulk(id);
+        int employees = employeeRepository.deleteByIdInBulk(id);
+        if (departmentId != null) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(departmentId));
+        }
+        return Optional.of(new DeletionResultDTO(0, employees, tasks));
+    }
+    
+    private void publishDepartmentChanged(Department department) {
+        if (department != null) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(department.getId()));
+        }
     }
     
     // Lazy loading ile ilgili metotlar
@@ -71,9 +164,10 @@ public class EmployeeService {
         return employee;
     }
     
-    // Join fetch ile lazy loading sorununu çözme (N+1 problemi azaltılmış)
+    // Fetch plan ile lazy loading sorununu çözme (N+1 problemi azaltılmış)
+    @Transactional(readOnly = true)
     public Employee getEmployeeWithTasksFetch(Long id) {
-        return employeeRepository.findByIdWithTasks(id)
+        return employeeRepository.findById(id, FetchPlan.EMPLOYEE_WITH_TASKS)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
     }
     
@@ -101,9 +195,10 @@ public class EmployeeService {
         return employee;
     }
     
-    // Join fetch ile nested lazy loading sorununu çözme (N+1 problemi azaltılmış)
+    // Fetch plan ile nested lazy loading sorununu çözme (N+1 problemi azaltılmış)
+    @Transactional(readOnly = true)
     public Employee getEmployeeWithTasksAndDepartmentFetch(Long id) {
-        return employeeRepository.findByIdWithTasksAndDepartment(id)
+        return employeeRepository.findById(id, FetchPlan.EMPLOYEE_WITH_TASKS_AND_DEPARTMENT)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
     }
     
@@ -128,33 +223,12 @@ public class EmployeeService {
     
     // Tek sorguda tüm DTO'ları getirme (N+1 problemi çözülmüş)
     public EmployeeDTO getEmployeeWithTasksInOneQueryDTO(Long id) {
-        List<Map<String, Object>> results = employeeRepository.findAllDTODataInOneQuery(id);
+        EmployeeDTO employeeDTO = DTOTreeAssembler.assembleEmployee(employeeRepository.findAllDTODataInOneQuery(id));
         
-        if (results.isEmpty()) {
+        if (employeeDTO == null) {
             throw new RuntimeException("Employee not found with id: " + id);
         }
         
-        // Employee DTO'yu oluştur
-        Map<String, Object> firstRow = results.get(0);
-        EmployeeDTO employeeDTO = new EmployeeDTO(
-                ((Number) firstRow.get("employeeId")).longValue(),
-                (String) firstRow.get("employeeName"),
-                (String) firstRow.get("employeePosition")
-        );
-        
-        // Task DTO'ları oluştur
-        for (Map<String, Object> row : results) {
-            TaskDTO taskDTO = new TaskDTO(
-                    ((Number) row.get("taskId")).longValue(),
-                    (String) row.get("taskTitle"),
-                    (String) row.get("taskDescription"),
-                    (LocalDate) row.get("taskDueDate"),
-                    (Boolean) row.get("taskCompleted")
-            );
-            
-            employeeDTO.getTasks().add(taskDTO);
-        }
-        
         return employeeDTO;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,146 @@
+package tr.com.mcay.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.mcay.dto.DepartmentDTO;
+import tr.com.mcay.dto.EmployeeDTO;
+import tr.com.mcay.dto.EmployeeTaskDTORow;
+import tr.com.mcay.repository.DepartmentRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Büyük departmanların DTO ağacını görevleri paralel sorgulayarak kurar. Departman ve çalışanlar çağıran
+ * thread'de okunur; çalışan id'leri parçalara bölünür ve her parçanın görevleri ayrı bir read-only transaction'da
+ * (dolayısıyla ayrı bir bağlantıda) bu sınıfa ait sınırlı bir executor üzerinde getirilir.
+ * <p>
+ * Bir istek aynı anda en fazla {@code connections-per-request} parça sorgular, böylece tek bir büyük rapor
+ * executor'u ve bağlantı havuzunu tek başına dolduramaz. Dönen future iptal edilirse veya {@code timeout}
+ * dolarsa henüz başlamamış parçalar sorgulanmaz; çalışan sorgular transaction timeout'u ile sınırlıdır.
+ */
+@Component
+public class ParallelDepartmentDTOAssembler implements DisposableBean {
+    
+    private final DepartmentRepository departmentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor executor;
+    private final int connectionsPerRequest;
+    private final int chunkSize;
+    private final Duration timeout;
+    
+    @Autowired
+    public ParallelDepartmentDTOAssembler(DepartmentRepository departmentRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${dto-fetch.parallel.threads:4}") int threads,
+                                          @Value("${dto-fetch.parallel.queue-capacity:1000}") int queueCapacity,
+                                          @Value("${dto-fetch.parallel.connections-per-request:2}") int connectionsPerRequest,
+                                          @Value("${dto-fetch.parallel.chunk-size:250}") int chunkSize,
+                                          @Value("${dto-fetch.in-clause-chunk-size:1000}") int inClauseChunkSize,
+                                          @Value("${dto-fetch.parallel.timeout:30s}") Duration timeout) {
+        this.departmentRepository = departmentRepository;
+        this.transactionManager = transactionManager;
+        this.connectionsPerRequest = connectionsPerRequest;
+        this.chunkSize = Math.min(chunkSize, inClauseChunkSize);
+        this.timeout = timeout;
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("dto-fetch-");
+        this.executor.initialize();
+    }
+    
+    // Departman bulunamazsa RuntimeException hemen fırlatılır. Executor kuyruğu doluysa veya süre dolarsa
+    // future RejectedExecutionException / TimeoutException ile tamamlanır.
+    public CompletableFuture<DepartmentDTO> assemble(Long id) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        
+        DepartmentDTO departmentDTO = readOnly(deadline).execute(status -> {
+            DepartmentDTO department = departmentRepository.findDepartmentDTOById(id)
+                    .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+            department.getEmployees().addAll(departmentRepository.findEmployeeDTOsByDepartmentId(id));
+            return department;
+        });
+        
+        // Her parçanın çalışanları farklı olduğu için worker'lar görevleri kendi çalışanlarına kilitsiz ekler;
+        // future'ların tamamlanması eklemeleri birleştiren thread'e görünür kılar
+        Map<Long, EmployeeDTO> employeesById = new HashMap<>((int) (departmentDTO.getEmployees().size() / 0.75f) + 1);
+        for (EmployeeDTO employeeDTO : departmentDTO.getEmployees()) {
+            employeesById.put(employeeDTO.getId(), employeeDTO);
+        }
+        List<Long> employeeIds = new ArrayList<>(employeesById.keySet());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < employeeIds.size(); from += chunkSize) {
+            chunks.add(employeeIds.subList(from, Math.min(from + chunkSize, employeeIds.size())));
+        }
+        
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        int workerCount = Math.min(connectionsPerRequest, chunks.size());
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[workerCount];
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                workers[i] = CompletableFuture.runAsync(
+                        () -> fetchChunks(chunks, next, employeesById, cancelled, deadline), executor);
+            }
+        } catch (RejectedExecutionException e) {
+            cancelled.set(true);
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        CompletableFuture<DepartmentDTO> result = CompletableFuture.allOf(workers)
+                .thenApply(done -> departmentDTO)
+                .orTimeout(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        // İptal, zaman aşımı veya bir parçanın hatası kalan parçaları durdurur
+        result.whenComplete((dto, error) -> {
+            if (error != null) {
+                cancelled.set(true);
+            }
+        });
+        return result;
+    }
+    
+    // Worker'lar sıradaki parçayı ortak sayaçtan alır; parça sayısı ne olursa olsun istek başına
+    // en fazla connectionsPerRequest bağlantı kullanılır. Thread kesilmez: dosya tabanlı H2'de
+    // interrupt, dosya kanalını kapatıp veritabanını kullanılamaz hale getirir.
+    private void fetchChunks(List<List<Long>> chunks, AtomicInteger next, Map<Long, EmployeeDTO> employeesById,
+                             AtomicBoolean cancelled, long deadline) {
+        for (int index = next.getAndIncrement(); index < chunks.size() && !cancelled.get(); index = next.getAndIncrement()) {
+            List<Long> chunk = chunks.get(index);
+            readOnly(deadline).executeWithoutResult(status -> {
+                for (EmployeeTaskDTORow row : departmentRepository.findTaskDTORowsByEmployeeIds(chunk)) {
+                    employeesById.get(row.employeeId()).getTasks().add(row.toTaskDTO());
+                }
+            });
+        }
+    }
+    
+    // Transaction timeout'u sorgulara statement timeout olarak uygulanır. Hibernate kalan süreyi saniyeye aşağı
+    // yuvarlayıp bir saniyenin altında statement hazırlamayı reddettiği için bir saniye pay bırakılır; isteğin
+    // kendi süresini future'ın timeout'u belirler.
+    private TransactionTemplate readOnly(long deadline) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setTimeout((int) Math.max(0, TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime() + 999_999_999L)) + 1);
+        return template;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
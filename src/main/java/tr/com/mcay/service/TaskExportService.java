@@ -0,0 +1,109 @@
+package tr.com.mcay.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tr.com.mcay.dto.TaskExportDTO;
+import tr.com.mcay.repository.TaskRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Tüm görevleri NDJSON veya CSV olarak satır satır yazar. Satırlar veritabanından okundukça
+ * response'a aktarılır, bellek kullanımı görev sayısından bağımsızdır.
+ */
+@Service
+public class TaskExportService {
+    
+    // İlk satır hemen, sonrakiler bu aralıklarla flush edilir
+    private static final int FLUSH_INTERVAL = 1000;
+    
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public TaskExportService(TaskRepository taskRepository, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Transactional(readOnly = true)
+    public long writeNdjson(OutputStream out) throws IOException {
+        try (Stream<TaskExportDTO> tasks = openTaskStream();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            
+            long count = 0;
+            for (Iterator<TaskExportDTO> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 1) {
+                    generator.flush();
+                }
+            }
+            return count;
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public long writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<TaskExportDTO> tasks = openTaskStream()) {
+            writer.write("id,title,description,dueDate,completed,employeeName,departmentName\n");
+            
+            long count = 0;
+            for (Iterator<TaskExportDTO> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                TaskExportDTO task = iterator.next();
+                writer.write(String.valueOf(task.getId()));
+                writeCsvField(writer, task.getTitle());
+                writeCsvField(writer, task.getDescription());
+                writeCsvField(writer, task.getDueDate() != null ? task.getDueDate().toString() : null);
+                writeCsvField(writer, String.valueOf(task.isCompleted()));
+                writeCsvField(writer, task.getEmployeeName());
+                writeCsvField(writer, task.getDepartmentName());
+                writer.write('\n');
+                if (++count % FLUSH_INTERVAL == 1) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            return count;
+        }
+    }
+    
+    // H2 varsayılan olarak sonucun tamamını hazırlayıp sonra döner; lazy execution ile satırlar
+    // okundukça üretilir ve ilk byte sorgunun tamamlanmasını beklemez. Ayar bu bağlantı için export boyunca geçerlidir.
+    private Stream<TaskExportDTO> openTaskStream() {
+        jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION TRUE");
+        return taskRepository.streamAllForExport()
+                .onClose(() -> jdbcTemplate.execute("SET LAZY_QUERY_EXECUTION FALSE"));
+    }
+    
+    // RFC 4180: virgül, tırnak veya satır sonu içeren alanlar tırnak içine alınır
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,59 +1,230 @@
 package tr.com.mcay.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tr.com.mcay.dto.DepartmentOverdueCountDTO;
+import tr.com.mcay.dto.OverdueTaskDTO;
+import tr.com.mcay.dto.TaskCompletionResultDTO;
+import tr.com.mcay.dto.TaskView;
+import tr.com.mcay.entity.Employee;
 import tr.com.mcay.entity.Task;
 import tr.com.mcay.repository.TaskRepository;
+import tr.com.mcay.repository.FetchPlan;
+import tr.com.mcay.repository.KeysetPage;
+import tr.com.mcay.repository.KeysetPager;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class TaskService {
     
+    private static final Set<String> SORTABLE = Set.of("dueDate");
+    
     private final TaskRepository taskRepository;
+    private final KeysetPager keysetPager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AggregateVersions aggregateVersions;
+    private final int inClauseChunkSize;
     
     @Autowired
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, KeysetPager keysetPager,
+                       ApplicationEventPublisher eventPublisher, AggregateVersions aggregateVersions,
+                       @Value("${dto-fetch.in-clause-chunk-size:1000}") int inClauseChunkSize) {
         this.taskRepository = taskRepository;
+        this.keysetPager = keysetPager;
+        this.eventPublisher = eventPublisher;
+        this.aggregateVersions = aggregateVersions;
+        this.inClauseChunkSize = inClauseChunkSize;
+    }
+    
+    // Keyset sayfalama: derin sayfalarda da maliyet sayfa boyutuyla sınırlı kalır. Entity yüklenmez, her sayfa tek sorgu
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskView> getTasksPage(String sort, String cursor, Integer size) {
+        return keysetPager.findPage(Task.class, TaskView.SELECT, TaskView.class, SORTABLE, sort, cursor, size);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<TaskView> getTaskById(Long id) {
+        return taskRepository.findViewById(id);
     }
     
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByEmployeeId(Long employeeId) {
+        return taskRepository.findViewsByEmployeeId(employeeId);
     }
     
-    public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+    // Entity yüklenmez; her sayfa tek sorgu, çalışan ve departman adı dahil
+    @Transactional(readOnly = true)
+    public KeysetPage<OverdueTaskDTO> getOverdueTasksPage(String cursor, Integer size) {
+        LocalDate today = LocalDate.now();
+        return keysetPager.findPage("dueDate", LocalDate.class, cursor, size,
+                (lastDueDate, lastId, limit) -> lastId == null
+                        ? taskRepository.findOverdue(today, PageRequest.of(0, limit))
+                        : findOverdueAfter(today, lastDueDate, lastId, limit),
+                OverdueTaskDTO::getId, OverdueTaskDTO::getDueDate);
     }
     
-    public List<Task> getTasksByEmployeeId(Long employeeId) {
-        return taskRepository.findByEmployeeId(employeeId);
+    // İkinci sorgu sadece son tarihin kalanı sayfayı doldurmadığında çalışır
+    private List<OverdueTaskDTO> findOverdueAfter(LocalDate today, LocalDate lastDueDate, Long lastId, int limit) {
+        List<OverdueTaskDTO> rows = new ArrayList<>(
+                taskRepository.findOverdueOnDueDateAfterId(lastDueDate, lastId, PageRequest.of(0, limit)));
+        if (rows.size() < limit) {
+            rows.addAll(taskRepository.findOverdueAfterDueDate(today, lastDueDate, PageRequest.of(0, limit - rows.size())));
+        }
+        return rows;
     }
     
-    public List<Task> getOverdueTasks() {
-        return taskRepository.findByCompletedFalseAndDueDateBefore(LocalDate.now());
+    @Transactional(readOnly = true)
+    public List<DepartmentOverdueCountDTO> getOverdueTaskCountsByDepartment() {
+        return taskRepository.countOverdueByDepartment(LocalDate.now());
     }
     
+    // Güncellemede görev başka bir çalışana geçmiş olabilir, eski ve yeni departman değişmiş sayılır
     @Transactional
     public Task saveTask(Task task) {
-        return taskRepository.save(task);
+        lockOwners(task);
+        if (task.getId() != null) {
+            taskRepository.findById(task.getId()).ifPresent(this::publishDepartmentChanged);
+        }
+        Task saved = taskRepository.save(task);
+        publishDepartmentChanged(saved);
+        return saved;
     }
     
+    // Görev yüklenmeden tek UPDATE ile güncellenir; önce çalışanı ve departmanı kilitlenip versiyonları artırılır.
+    // attributes null ise gövdedeki tüm alanlar (PUT), değilse sadece verilenler (PATCH) yazılır; çalışanı değiştirilmez.
+    // Güncel hali GET ile aynı modelde döner. Görev yoksa boş döner, gövdedeki versiyon eskiyse
+    // ObjectOptimisticLockingFailureException fırlatılır.
     @Transactional
-    public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+    public Optional<TaskView> updateTask(Long id, Task values, Collection<String> attributes) {
+        Long departmentId = aggregateVersions.lockTaskOwners(id);
+        if (taskRepository.updateById(id, values.getVersion(), values, attributes) == 0) {
+            if (values.getVersion() != null && taskRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, id);
+            }
+            return Optional.empty();
+        }
+        if (departmentId != null) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(departmentId));
+        }
+        return getTaskById(id);
+    }
+    
+    // Tek transaction içinde kaydedilir, böylece insert'ler JDBC batch'lenebilir
+    @Transactional
+    public List<Task> saveTasks(List<Task> tasks) {
+        tasks.forEach(this::lockOwners);
+        List<Task> saved = taskRepository.saveAll(tasks);
+        saved.forEach(this::publishDepartmentChanged);
+        return saved;
+    }
+    
+    // Varlık kontrolü silmeyle aynı transaction'da (primary'de) yapılır; görev yoksa false döner
+    @Transactional
+    public boolean deleteTask(Long id) {
+        aggregateVersions.lockTaskOwners(id);
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isEmpty()) {
+            return false;
+        }
+        publishDepartmentChanged(task.get());
+        taskRepository.delete(task.get());
+        return true;
     }
     
     @Transactional
     public Task markTaskAsCompleted(Long id) {
+        aggregateVersions.lockTaskOwners(id);
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         task.setCompleted(true);
+        publishDepartmentChanged(task);
         return taskRepository.save(task);
     }
     
+    // Toplu tamamlama: görevler yüklenmez, id listesi parça başına tek UPDATE ile tamamlanır. Açık görevlerin sahipleri
+    // ve departmanları tek görevlik yoldaki gibi UPDATE'ten önce kilitlenip versiyonlanır.
+    @Transactional
+    public TaskCompletionResultDTO completeTasks(Collection<Long> ids) {
+        List<Long> sortedIds = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<List<Long>> idChunks = new ArrayList<>();
+        List<List<Long>> ownerChunks = new ArrayList<>();
+        Set<Long> owners = new TreeSet<>();
+        for (int from = 0; from < sortedIds.size(); from += inClauseChunkSize) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + inClauseChunkSize, sortedIds.size()));
+            List<Long> chunkOwners = taskRepository.findOpenTaskOwnerIds(chunk);
+            idChunks.add(chunk);
+            ownerChunks.add(chunkOwners);
+            owners.addAll(chunkOwners);
+        }
+        
+        Set<Long> departments = aggregateVersions.lockEmployees(owners);
+        long completed = 0;
+        for (int i = 0; i < idChunks.size(); i++) {
+            completed += ownerChunks.get(i).isEmpty()
+                    ? taskRepository.completeUnownedOpenByIds(idChunks.get(i))
+                    : taskRepository.completeOpenByIds(idChunks.get(i), ownerChunks.get(i));
+        }
+        return completionResult(completed, owners.size(), departments);
+    }
+    
+    // Açık görevi olmayan çalışanın versiyonu boşuna artırılmaz
+    @Transactional
+    public TaskCompletionResultDTO completeTasksOfEmployee(Long employeeId) {
+        if (!taskRepository.existsByEmployeeIdAndCompletedFalse(employeeId)) {
+            return new TaskCompletionResultDTO(0, 0, 0);
+        }
+        Set<Long> departments = aggregateVersions.lockEmployees(List.of(employeeId));
+        return completionResult(taskRepository.completeOpenByEmployeeId(employeeId), 1, departments);
+    }
+    
+    // Verilen tarihten önce vadesi dolmuş tüm açık görevler; sahipler idx_task_overdue üzerinden bulunur
+    @Transactional
+    public TaskCompletionResultDTO completeTasksDueBefore(LocalDate date) {
+        List<Long> owners = taskRepository.findOverdueTaskOwnerIds(date).stream().sorted().toList();
+        Set<Long> departments = aggregateVersions.lockEmployees(owners);
+        
+        long completed = taskRepository.completeUnownedOverdue(date);
+        for (int from = 0; from < owners.size(); from += inClauseChunkSize) {
+            completed += taskRepository.completeOverdueByEmployeeIds(
+                    owners.subList(from, Math.min(from + inClauseChunkSize, owners.size())), date);
+        }
+        return completionResult(completed, owners.size(), departments);
+    }
+    
+    // Etkilenen departmanların DTO cache kayıtları commit'ten sonra silinir
+    private TaskCompletionResultDTO completionResult(long completed, int employees, Set<Long> departments) {
+        departments.forEach(id -> eventPublisher.publishEvent(new DepartmentChangedEvent(id)));
+        return new TaskCompletionResultDTO(completed, employees, departments.size());
+    }
+    
+    // Eski ve yeni çalışan (ve departmanları) görev yüklenmeden önce kilitlenir
+    private void lockOwners(Task task) {
+        aggregateVersions.lockTaskOwners(task.getId());
+        if (task.getEmployee() != null) {
+            aggregateVersions.lockEmployee(task.getEmployee().getId());
+        }
+    }
+    
+    private void publishDepartmentChanged(Task task) {
+        Employee employee = task.getEmployee();
+        if (employee != null && employee.getDepartment() != null) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(employee.getDepartment().getId()));
+        }
+    }
+    
     // Lazy loading ile ilgili metotlar
     
     // Transaction içinde lazy loading
@@ -74,9 +245,10 @@ public class TaskService {
         return task;
     }
     
-    // Join fetch ile lazy loading sorununu çözme
+    // Fetch plan ile lazy loading sorununu çözme
+    @Transactional(readOnly = true)
     public Task getTaskWithEmployeeFetch(Long id) {
-        return taskRepository.findByIdWithEmployee(id)
+        return taskRepository.findById(id, FetchPlan.TASK_WITH_EMPLOYEE)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
     }
     
@@ -90,9 +262,10 @@ public class TaskService {
         return task;
     }
     
-    // Join fetch ile nested lazy loading sorununu çözme
+    // Fetch plan ile nested lazy loading sorununu çözme
+    @Transactional(readOnly = true)
     public Task getTaskWithEmployeeAndDepartmentFetch(Long id) {
-        return taskRepository.findByIdWithEmployeeAndDepartment(id)
+        return taskRepository.findById(id, FetchPlan.TASK_WITH_EMPLOYEE_AND_DEPARTMENT)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
     }
 } 
\ No newline at end of file
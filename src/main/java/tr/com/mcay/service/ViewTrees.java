@@ -0,0 +1,72 @@
+package tr.com.mcay.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tr.com.mcay.dto.DepartmentEmployeeViewRow;
+import tr.com.mcay.dto.DepartmentView;
+import tr.com.mcay.dto.EmployeeTaskViewRow;
+import tr.com.mcay.dto.EmployeeView;
+import tr.com.mcay.repository.EmployeeRepository;
+import tr.com.mcay.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET endpoint'lerinin salt okunur modellerine alt kayıtları ekler: çalışanlar departman id'leriyle, görevler çalışan
+ * id'leriyle toplu IN sorgularında okunur. Sorgu sayısı kayıt sayısına değil chunk sayısına bağlıdır; entity
+ * yüklenmediği için persistence context'te dirty checking snapshot'ı tutulmaz, JSON'a yazarken lazy ilişki kalmaz.
+ */
+@Component
+class ViewTrees {
+    
+    private final EmployeeRepository employeeRepository;
+    private final TaskRepository taskRepository;
+    private final int inClauseChunkSize;
+    
+    @Autowired
+    ViewTrees(EmployeeRepository employeeRepository, TaskRepository taskRepository,
+              @Value("${dto-fetch.in-clause-chunk-size:1000}") int inClauseChunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.taskRepository = taskRepository;
+        this.inClauseChunkSize = inClauseChunkSize;
+    }
+    
+    // Departman başına bir sorgu yerine: çalışanlar için chunk başına bir, görevleri için chunk başına bir sorgu
+    void addEmployeesAndTasks(List<DepartmentView> departments) {
+        Map<Long, DepartmentView> departmentsById = new HashMap<>((int) (departments.size() / 0.75f) + 1);
+        for (DepartmentView department : departments) {
+            departmentsById.put(department.id(), department);
+        }
+        
+        List<Long> departmentIds = new ArrayList<>(departmentsById.keySet());
+        List<EmployeeView> employees = new ArrayList<>();
+        for (int from = 0; from < departmentIds.size(); from += inClauseChunkSize) {
+            List<Long> chunk = departmentIds.subList(from, Math.min(from + inClauseChunkSize, departmentIds.size()));
+            for (DepartmentEmployeeViewRow row : employeeRepository.findViewRowsByDepartmentIds(chunk)) {
+                EmployeeView employee = row.toEmployeeView();
+                departmentsById.get(row.departmentId()).employees().add(employee);
+                employees.add(employee);
+            }
+        }
+        addTasks(employees);
+    }
+    
+    void addTasks(List<EmployeeView> employees) {
+        Map<Long, EmployeeView> employeesById = new HashMap<>((int) (employees.size() / 0.75f) + 1);
+        for (EmployeeView employee : employees) {
+            employeesById.put(employee.id(), employee);
+        }
+        
+        List<Long> employeeIds = new ArrayList<>(employeesById.keySet());
+        for (int from = 0; from < employeeIds.size(); from += inClauseChunkSize) {
+            List<Long> chunk = employeeIds.subList(from, Math.min(from + inClauseChunkSize, employeeIds.size()));
+            for (EmployeeTaskViewRow row : taskRepository.findViewRowsByEmployeeIds(chunk)) {
+                employeesById.get(row.employeeId()).tasks().add(row.toTaskView());
+            }
+        }
+    }
+}
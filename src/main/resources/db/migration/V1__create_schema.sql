@@ -0,0 +1,60 @@
+-- Başlangıç şeması. Entity eşleşmesi açılışta Hibernate tarafından doğrulanır (ddl-auto=validate).
+
+-- Entity'lerdeki allocationSize = 50 ile aynı artış (pooled-lo optimizer)
+CREATE SEQUENCE department_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE employee_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE department (
+    id      BIGINT       NOT NULL,
+    name    VARCHAR(255),
+    uuid    BINARY(16)   NOT NULL,
+    version BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_department PRIMARY KEY (id),
+    CONSTRAINT uk_department_uuid UNIQUE (uuid)
+);
+
+CREATE TABLE employee (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(255),
+    position      VARCHAR(255),
+    uuid          BINARY(16)   NOT NULL,
+    version       BIGINT       DEFAULT 0 NOT NULL,
+    department_id BIGINT,
+    CONSTRAINT pk_employee PRIMARY KEY (id),
+    CONSTRAINT uk_employee_uuid UNIQUE (uuid)
+);
+
+CREATE TABLE task (
+    id          BIGINT       NOT NULL,
+    completed   BOOLEAN      NOT NULL,
+    description VARCHAR(255),
+    due_date    DATE,
+    title       VARCHAR(255),
+    uuid        BINARY(16)   NOT NULL,
+    version     BIGINT       DEFAULT 0 NOT NULL,
+    employee_id BIGINT,
+    CONSTRAINT pk_task PRIMARY KEY (id),
+    CONSTRAINT uk_task_uuid UNIQUE (uuid)
+);
+
+-- Keyset sayfalama: (sıralama alanı, id)
+CREATE INDEX idx_department_name_id ON department (name, id);
+CREATE INDEX idx_employee_name_id ON employee (name, id);
+CREATE INDEX idx_task_due_date_id ON task (due_date, id);
+
+-- Gecikmiş görev sorguları: completed eşitlik, due_date aralık, id keyset sırası; employee_id departman
+-- bazlı sayımın task satırlarına gitmeden yapılabilmesi için
+CREATE INDEX idx_task_overdue ON task (completed, due_date, id, employee_id);
+
+-- Join fetch'ler, findByDepartmentId / findByEmployeeId ve @BatchSize'lı collection yüklemeleri FK kolonları
+-- üzerinden çalışır. H2 FK için kendiliğinden index açar ama bu veritabanına bağlıdır (PostgreSQL açmaz);
+-- index'ler FK'lerden önce açıkça tanımlanır, böylece H2 ikinci bir index oluşturmaz.
+CREATE INDEX idx_employee_department_id ON employee (department_id);
+CREATE INDEX idx_task_employee_id ON task (employee_id);
+
+-- findByName tek satır döner, isim tekil olmalıdır
+ALTER TABLE department ADD CONSTRAINT uk_department_name UNIQUE (name);
+
+ALTER TABLE employee ADD CONSTRAINT fk_employee_department FOREIGN KEY (department_id) REFERENCES department (id);
+ALTER TABLE task ADD CONSTRAINT fk_task_employee FOREIGN KEY (employee_id) REFERENCES employee (id);
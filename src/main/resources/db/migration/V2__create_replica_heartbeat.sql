@@ -0,0 +1,9 @@
+-- Replica gecikmesi ölçümü (replica.enabled=true): uygulama tek satırdaki beat'i (epoch ms) primary'de periyodik
+-- günceller, replica'da okunan değerin yaşı gecikmedir
+CREATE TABLE replica_heartbeat (
+    id   INT    NOT NULL,
+    beat BIGINT NOT NULL,
+    CONSTRAINT pk_replica_heartbeat PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat) VALUES (1, 0);
@@ -0,0 +1,97 @@
+package tr.com.mcay.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.mcay.repository.DepartmentRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replica gerideyken ETag versiyonu ile gövdenin aynı kaynaktan geldiğini doğrular. Kopyalama ve heartbeat
+ * zamanlayıcıları devre dışı kalacak kadar seyrek ayarlanır; replica test içinden {@link H2ReplicaCopier#copy()} ile
+ * güncellenir, böylece "primary'de yazma var, replica henüz kopyalanmadı" durumu kesin olarak kurulur.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etag-primary",
+        "replica.url=jdbc:h2:mem:etag-replica;DB_CLOSE_DELAY=-1",
+        "replica.local-copy.interval=1h",
+        "replica.heartbeat-interval=1h",
+        "replica.max-lag=1h",
+        "data-generator.departments=2",
+        "data-generator.employees-per-department=2",
+        "data-generator.tasks-per-employee=1"
+})
+@ActiveProfiles("replica")
+@AutoConfigureMockMvc
+class ReplicaRoutingETagTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private H2ReplicaCopier copier;
+    
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private long departmentId;
+    
+    @BeforeEach
+    void replicaInSync() {
+        departmentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM department", Long.class);
+        syncReplica();
+    }
+    
+    @Test
+    void laggingReplicaNeverServesBodyUnderNewerETag() throws Exception {
+        long version = jdbcTemplate.queryForObject("SELECT version FROM department WHERE id = ?", Long.class, departmentId);
+        String name = jdbcTemplate.queryForObject("SELECT name FROM department WHERE id = ?", String.class, departmentId);
+        
+        // Entity üzerinden yazma: yeni versiyon commit'te ikinci seviye cache'e de yazılır
+        transactionTemplate.executeWithoutResult(status ->
+                departmentRepository.findById(departmentId).orElseThrow().setName(name + " (renamed)"));
+        
+        mockMvc.perform(get("/api/departments/{id}", departmentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag(version)))
+                .andExpect(jsonPath("$.version").value(version))
+                .andExpect(jsonPath("$.name").value(name));
+        
+        syncReplica();
+        
+        mockMvc.perform(get("/api/departments/{id}", departmentId).header("If-None-Match", eTag(version)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag(version + 1)))
+                .andExpect(jsonPath("$.version").value(version + 1))
+                .andExpect(jsonPath("$.name").value(name + " (renamed)"));
+    }
+    
+    private void syncReplica() {
+        lagMonitor.beat();
+        copier.copy();
+        lagMonitor.beat();
+    }
+    
+    private String eTag(long version) {
+        return "\"department-" + departmentId + "-v" + version + "\"";
+    }
+}
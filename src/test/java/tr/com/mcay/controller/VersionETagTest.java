@@ -0,0 +1,88 @@
+package tr.com.mcay.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.mcay.repository.DepartmentRepository;
+import tr.com.mcay.repository.EmployeeRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Görev yazıldığında çalışan ve departman versiyonları sadece satırda artar; ikinci seviye cache'te eski
+ * versiyonla duran entity'ler ETag'i ve sonraki yazmaların optimistic kontrolünü etkilememelidir.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:version-etag",
+        "data-generator.departments=2",
+        "data-generator.employees-per-department=2",
+        "data-generator.tasks-per-employee=2"
+})
+@AutoConfigureMockMvc
+class VersionETagTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    private long taskId;
+    private long employeeId;
+    private long departmentId;
+    
+    @BeforeEach
+    void findOpenTask() {
+        taskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM task WHERE completed = false", Long.class);
+        employeeId = jdbcTemplate.queryForObject("SELECT employee_id FROM task WHERE id = ?", Long.class, taskId);
+        departmentId = jdbcTemplate.queryForObject("SELECT department_id FROM employee WHERE id = ?", Long.class, employeeId);
+    }
+    
+    @Test
+    void childTaskWriteChangesParentETags() throws Exception {
+        // Üst kayıtlar eski versiyonlarıyla ikinci seviye cache'e alınır
+        long departmentVersion = transactionTemplate.execute(status ->
+                departmentRepository.findById(departmentId).orElseThrow().getVersion());
+        long employeeVersion = transactionTemplate.execute(status ->
+                employeeRepository.findById(employeeId).orElseThrow().getVersion());
+        String departmentETag = "\"department-" + departmentId + "-v" + departmentVersion + "\"";
+        String employeeETag = "\"employee-" + employeeId + "-v" + employeeVersion + "\"";
+        
+        mockMvc.perform(get("/api/departments/{id}", departmentId).header("If-None-Match", departmentETag))
+                .andExpect(status().isNotModified());
+        
+        mockMvc.perform(put("/api/tasks/{id}/complete", taskId))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/api/departments/{id}", departmentId).header("If-None-Match", departmentETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"department-" + departmentId + "-v" + (departmentVersion + 1) + "\""));
+        mockMvc.perform(get("/api/employees/{id}", employeeId).header("If-None-Match", employeeETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"employee-" + employeeId + "-v" + (employeeVersion + 1) + "\""));
+        
+        // Cache'ten çıkarılan entity'ler de yeni versiyonla yüklenir
+        assertThat(transactionTemplate.execute(status ->
+                departmentRepository.findById(departmentId).orElseThrow().getVersion())).isEqualTo(departmentVersion + 1);
+        assertThat(transactionTemplate.execute(status ->
+                employeeRepository.findById(employeeId).orElseThrow().getVersion())).isEqualTo(employeeVersion + 1);
+    }
+}
@@ -0,0 +1,89 @@
+package tr.com.mcay.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import tr.com.mcay.entity.Department;
+import tr.com.mcay.repository.DepartmentRepository;
+import tr.com.mcay.repository.FetchPlan;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code fetch-plan.fail-on-lazy-access=true} ile fetch plan dışında kalan bir lazy ilişki JSON'a yazılırken
+ * serialization hata ile sonlanır. Entity döndüren endpoint'lerin planları yazdıkları tüm ilişkileri kapsar; bu modda
+ * da normal döner.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lazy-access-guard",
+        "fetch-plan.fail-on-lazy-access=true",
+        "data-generator.departments=2",
+        "data-generator.employees-per-department=3",
+        "data-generator.tasks-per-employee=2"
+})
+@AutoConfigureMockMvc
+class LazyAccessGuardTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private long departmentId;
+    private long employeeId;
+    private long taskId;
+    
+    @BeforeEach
+    void findIds() {
+        departmentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM department", Long.class);
+        employeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee WHERE department_id = ?", Long.class, departmentId);
+        taskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM task WHERE employee_id = ?", Long.class, employeeId);
+    }
+    
+    // Plan sadece çalışanları yükler; Employee.tasks serialization sırasında yüklenmemiş bulunur
+    @Test
+    void associationOutsideFetchPlanFailsSerialization() {
+        Department department = departmentRepository.findById(departmentId, FetchPlan.DEPARTMENT_WITH_EMPLOYEES).orElseThrow();
+        
+        assertThatThrownBy(() -> objectMapper.writeValueAsString(department))
+                .hasRootCauseInstanceOf(LazyAccessOutsideFetchPlanException.class)
+                .hasRootCauseMessage("Lazy association Employee.tasks was not loaded by the fetch plan");
+    }
+    
+    @Test
+    void fetchEndpointsLoadEverythingTheyWrite() throws Exception {
+        mockMvc.perform(get("/api/departments/{id}/with-employees-fetch", departmentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(3))
+                .andExpect(jsonPath("$.employees[0].tasks.length()").value(2));
+        mockMvc.perform(get("/api/departments/{id}/with-employees-and-tasks-fetch", departmentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(3))
+                .andExpect(jsonPath("$.employees[0].tasks.length()").value(2));
+        mockMvc.perform(get("/api/employees/{id}/with-tasks-fetch", employeeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2));
+        mockMvc.perform(get("/api/employees/{id}/with-tasks-and-department-fetch", employeeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2));
+        mockMvc.perform(get("/api/tasks/{id}/with-employee-fetch", taskId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/{id}/with-employee-and-department-fetch", taskId))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,108 @@
+package tr.com.mcay.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code sql-monitor.fail-on-budget-exceeded=true} ile application.properties'teki endpoint bütçelerini uygular:
+ * bütçesini aşan bir istek {@link SqlBudgetExceededException} ile sonlanır. Her endpoint bir kez ısıtılır, ölçülen
+ * ikinci istektir (kararlı durum: ikinci seviye ve DTO cache'leri dolu).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget",
+        "sql-monitor.fail-on-budget-exceeded=true",
+        // N+1 yolunun toplu IN sorgularıyla aynı bütçeye tabi tutulması (negatif test)
+        "sql-monitor.budgets.DepartmentController.getDepartmentWithEmployeesAndTasksDTO=3",
+        "data-generator.departments=3",
+        "data-generator.employees-per-department=5",
+        "data-generator.tasks-per-employee=3"
+})
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private SqlMonitoringProperties properties;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private long departmentId;
+    private long employeeId;
+    private long taskId;
+    
+    @BeforeEach
+    void findIds() {
+        departmentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM department", Long.class);
+        employeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employee WHERE department_id = ?", Long.class, departmentId);
+        taskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM task WHERE employee_id = ?", Long.class, employeeId);
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "DepartmentController.getAllDepartments, /api/departments",
+            "DepartmentController.getDepartmentById, /api/departments/{department}",
+            "DepartmentController.getDepartmentWithEmployeesAndTasksBatchedDTO, /api/departments/{department}/with-employees-and-tasks-batched-dto",
+            "DepartmentController.getDepartmentWithEmployeesAndTasksInOneQuery, /api/departments/{department}/with-employees-and-tasks-one-query",
+            "DepartmentController.getDepartmentWithEmployeesAndTasksInOneQueryDTO, /api/departments/{department}/with-employees-and-tasks-one-query-dto",
+            "EmployeeController.getAllEmployees, /api/employees",
+            "EmployeeController.getEmployeeById, /api/employees/{employee}",
+            "EmployeeController.getEmployeesByDepartmentId, /api/employees/department/{department}",
+            "EmployeeController.getEmployeeWithTasksFetch, /api/employees/{employee}/with-tasks-fetch",
+            "EmployeeController.getEmployeeWithTasksAndDepartmentFetch, /api/employees/{employee}/with-tasks-and-department-fetch",
+            "EmployeeController.getEmployeeWithTasksInOneQuery, /api/employees/{employee}/with-tasks-one-query",
+            "EmployeeController.getEmployeeWithTasksInOneQueryDTO, /api/employees/{employee}/with-tasks-one-query-dto",
+            "TaskController.getAllTasks, /api/tasks",
+            "TaskController.getTaskById, /api/tasks/{task}",
+            "TaskController.getTasksByEmployeeId, /api/tasks/employee/{employee}",
+            "TaskController.getTaskWithEmployeeFetch, /api/tasks/{task}/with-employee-fetch",
+            "TaskController.getTaskWithEmployeeAndDepartmentFetch, /api/tasks/{task}/with-employee-and-department-fetch",
+            "TaskController.getOverdueTasks, /api/tasks/overdue",
+            "TaskController.getOverdueTaskCountsByDepartment, /api/tasks/overdue/count-by-department"
+    })
+    void hotEndpointStaysWithinItsBudget(String handler, String path) throws Exception {
+        Integer budget = properties.getBudgets().get(handler);
+        assertThat(budget).as("budget for %s", handler).isNotNull();
+        String uri = resolve(path);
+        
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        String statements = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlMonitoringFilter.STATEMENTS_HEADER))
+                .andReturn()
+                .getResponse()
+                .getHeader(SqlMonitoringFilter.STATEMENTS_HEADER);
+        assertThat(Integer.parseInt(statements)).isLessThanOrEqualTo(budget);
+    }
+    
+    // Görevler çalışan başına ayrı sorguyla okunur: 5 çalışanlı departmanda 3'lük bütçe aşılır
+    @Test
+    void nPlusOnePathFailsItsBudget() {
+        String uri = resolve("/api/departments/{department}/with-employees-and-tasks-dto");
+        
+        assertThatThrownBy(() -> mockMvc.perform(get(uri)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("DepartmentController.getDepartmentWithEmployeesAndTasksDTO");
+    }
+    
+    private String resolve(String path) {
+        return path.replace("{department}", String.valueOf(departmentId))
+                .replace("{employee}", String.valueOf(employeeId))
+                .replace("{task}", String.valueOf(taskId));
+    }
+}
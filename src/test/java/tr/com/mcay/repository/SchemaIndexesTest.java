@@ -0,0 +1,62 @@
+package tr.com.mcay.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway migration'larının FK kolonlarındaki index'leri ve departman adı üzerindeki tekil kısıtı oluşturduğunu
+ * H2'nin INFORMATION_SCHEMA tablolarından doğrular. Şema Hibernate tarafından üretilmediği için bu index'ler
+ * sadece migration'da tanımlıdır.
+ */
+@DataJpaTest
+class SchemaIndexesTest {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void foreignKeyColumnsAreIndexed() {
+        assertThat(indexType("EMPLOYEE", "IDX_EMPLOYEE_DEPARTMENT_ID")).containsExactly("INDEX");
+        assertThat(indexColumns("EMPLOYEE", "IDX_EMPLOYEE_DEPARTMENT_ID")).containsExactly("DEPARTMENT_ID");
+        
+        assertThat(indexType("TASK", "IDX_TASK_EMPLOYEE_ID")).containsExactly("INDEX");
+        assertThat(indexColumns("TASK", "IDX_TASK_EMPLOYEE_ID")).containsExactly("EMPLOYEE_ID");
+    }
+    
+    @Test
+    void departmentNameIsUnique() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT CONSTRAINT_TYPE FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+                        + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'DEPARTMENT' AND CONSTRAINT_NAME = 'UK_DEPARTMENT_NAME'",
+                String.class)).containsExactly("UNIQUE");
+        
+        // H2 kısıt için <kısıt adı>_INDEX_<n> adında tekil bir index oluşturur
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES "
+                        + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'DEPARTMENT' AND INDEX_NAME LIKE 'UK\\_DEPARTMENT\\_NAME%' "
+                        + "AND INDEX_TYPE_NAME = 'UNIQUE INDEX'",
+                String.class);
+        assertThat(indexes).hasSize(1);
+        assertThat(indexColumns("DEPARTMENT", indexes.get(0))).containsExactly("NAME");
+    }
+    
+    private List<String> indexType(String table, String index) {
+        return jdbcTemplate.queryForList(
+                "SELECT INDEX_TYPE_NAME FROM INFORMATION_SCHEMA.INDEXES "
+                        + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ? AND INDEX_NAME = ?",
+                String.class, table, index);
+    }
+    
+    private List<String> indexColumns(String table, String index) {
+        return jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                        + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ? AND INDEX_NAME = ? ORDER BY ORDINAL_POSITION",
+                String.class, table, index);
+    }
+}